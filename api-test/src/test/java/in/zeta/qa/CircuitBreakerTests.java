@@ -0,0 +1,77 @@
+package in.zeta.qa;
+
+import in.zeta.qa.utils.exceptions.CircuitOpenException;
+import in.zeta.qa.utils.rest.ApiRequest;
+import in.zeta.qa.utils.rest.ClientType;
+import in.zeta.qa.utils.rest.HttpMethod;
+import in.zeta.qa.utils.rest.metrics.HttpMetrics;
+import in.zeta.qa.utils.rest.metrics.HttpMetrics.Counter;
+import in.zeta.qa.utils.rest.stub.StubRoute;
+import in.zeta.qa.utils.rest.stub.StubServer;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.concurrent.TimeUnit;
+
+/** {@link TestEndpoints#GUARDED_PING} opens after 3 consecutive failures, for 1 second. */
+public class CircuitBreakerTests extends StubServerTestBase {
+
+    private static final long OPEN_MILLIS = 1_000;
+
+    private StubRoute route;
+
+    @Override
+    protected void routes(StubServer stub) {
+        route = stub.on(HttpMethod.GET, TestEndpoints.GUARDED_PING).json("{\"ok\":true}");
+    }
+
+    @Test
+    void testCircuitOpensAfterThreshold() {
+        HttpMetrics.EndpointMetrics metrics = HttpMetrics.forEndpoint(TestEndpoints.GUARDED_PING);
+        long opened = metrics.getCount(Counter.CIRCUIT_OPENED);
+        long rejected = metrics.getCount(Counter.CIRCUIT_REJECTED);
+
+        route.status(503);
+        for (int i = 0; i < 3; i++) {
+            Assert.assertEquals(ping().execute().getStatusCode(), 503);
+        }
+        Assert.assertEquals(metrics.getCount(Counter.CIRCUIT_OPENED) - opened, 1);
+
+        long sent = route.getRequests();
+        Assert.expectThrows(CircuitOpenException.class, () -> ping().execute());
+        Assert.assertEquals(route.getRequests(), sent, "an open circuit should fail fast without calling the server");
+        Assert.assertEquals(metrics.getCount(Counter.CIRCUIT_REJECTED) - rejected, 1);
+    }
+
+    @Test(dependsOnMethods = "testCircuitOpensAfterThreshold")
+    void testHalfOpenProbeReopensThenCloses() throws InterruptedException {
+        HttpMetrics.EndpointMetrics metrics = HttpMetrics.forEndpoint(TestEndpoints.GUARDED_PING);
+        long halfOpened = metrics.getCount(Counter.CIRCUIT_HALF_OPENED);
+        long opened = metrics.getCount(Counter.CIRCUIT_OPENED);
+        long closed = metrics.getCount(Counter.CIRCUIT_CLOSED);
+
+        // the server is still down: the probe fails and the circuit opens again
+        TimeUnit.MILLISECONDS.sleep(OPEN_MILLIS + 100);
+        Assert.assertEquals(ping().execute().getStatusCode(), 503);
+        Assert.assertEquals(metrics.getCount(Counter.CIRCUIT_HALF_OPENED) - halfOpened, 1);
+        Assert.assertEquals(metrics.getCount(Counter.CIRCUIT_OPENED) - opened, 1);
+        Assert.expectThrows(CircuitOpenException.class, () -> ping().execute());
+
+        // back up: the next probe closes it and requests flow again
+        route.status(200);
+        TimeUnit.MILLISECONDS.sleep(OPEN_MILLIS + 100);
+        Assert.assertEquals(ping().execute().getStatusCode(), 200);
+        Assert.assertEquals(metrics.getCount(Counter.CIRCUIT_HALF_OPENED) - halfOpened, 2);
+        Assert.assertEquals(metrics.getCount(Counter.CIRCUIT_CLOSED) - closed, 1);
+        Assert.assertEquals(ping().execute().getStatusCode(), 200);
+    }
+
+    private ApiRequest<Void> ping() {
+        return ApiRequest.<Void>builder()
+                .client(ClientType.JAVA_HTTP)
+                .serverURL(stub.getUrl())
+                .endpoint(TestEndpoints.GUARDED_PING)
+                .method(HttpMethod.GET)
+                .build();
+    }
+}
@@ -0,0 +1,72 @@
+package in.zeta.qa;
+
+import in.zeta.qa.utils.rest.ApiRequest;
+import in.zeta.qa.utils.rest.ApiResponse;
+import in.zeta.qa.utils.rest.ClientType;
+import in.zeta.qa.utils.rest.HttpMethod;
+import in.zeta.qa.utils.rest.metrics.HttpMetrics;
+import in.zeta.qa.utils.rest.metrics.HttpMetrics.Counter;
+import in.zeta.qa.utils.rest.stub.StubServer;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.Map;
+
+public class CompressionTests extends StubServerTestBase {
+
+    private static final String REPORT = "{\"rows\":[" + "{\"status\":\"SETTLED\",\"amount\":100},".repeat(2_000)
+            + "{\"status\":\"SETTLED\",\"amount\":100}]}";
+
+    @Override
+    protected void routes(StubServer stub) {
+        stub.on(HttpMethod.GET, TestEndpoints.REPORT).json(REPORT).gzip();
+        stub.on(HttpMethod.POST, TestEndpoints.PING).status(204);
+    }
+
+    @Test(dataProvider = "clients")
+    void testGzippedResponseIsInflated(ClientType client) {
+        ApiResponse response = report(client);
+        Assert.assertEquals(response.getBody(), REPORT);
+        Assert.assertEquals(response.getBodyAsJsonNode().get("rows").size(), 2_001);
+    }
+
+    @Test
+    void testWireBytesAreReported() {
+        ApiResponse response = report(ClientType.JAVA_HTTP);
+        Assert.assertEquals(response.getContentEncoding(), "gzip");
+        Assert.assertTrue(response.getWireBodyLength() < response.getBodyLength());
+        Assert.assertTrue(HttpMetrics.forEndpoint(TestEndpoints.REPORT).getCount(Counter.RESPONSE_WIRE_BYTES)
+                < HttpMetrics.forEndpoint(TestEndpoints.REPORT).getCount(Counter.RESPONSE_BYTES));
+    }
+
+    /** Uncompressed bodies are counted too, with as many bytes on the wire as serialized. */
+    @Test(dataProvider = "clients")
+    void testRequestBytesAreCountedForEveryBody(ClientType client) {
+        HttpMetrics.EndpointMetrics metrics = HttpMetrics.forEndpoint(TestEndpoints.PING);
+        long requestBytes = metrics.getCount(Counter.REQUEST_BYTES);
+        long wireBytes = metrics.getCount(Counter.REQUEST_WIRE_BYTES);
+
+        int status = ApiRequest.<Map<String, Object>>builder()
+                .client(client)
+                .serverURL(stub.getUrl())
+                .endpoint(TestEndpoints.PING)
+                .method(HttpMethod.POST)
+                .body(Map.of("status", "SETTLED"))
+                .execute()
+                .getStatusCode();
+
+        int serialized = "{\"status\":\"SETTLED\"}".length();
+        Assert.assertEquals(status, 204);
+        Assert.assertEquals(metrics.getCount(Counter.REQUEST_BYTES) - requestBytes, serialized);
+        Assert.assertEquals(metrics.getCount(Counter.REQUEST_WIRE_BYTES) - wireBytes, serialized);
+    }
+
+    private ApiResponse report(ClientType client) {
+        return ApiRequest.<Void>builder()
+                .client(client)
+                .serverURL(stub.getUrl())
+                .endpoint(TestEndpoints.REPORT)
+                .method(HttpMethod.GET)
+                .execute();
+    }
+}
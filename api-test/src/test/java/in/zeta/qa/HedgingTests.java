@@ -0,0 +1,51 @@
+package in.zeta.qa;
+
+import in.zeta.qa.utils.rest.ApiRequest;
+import in.zeta.qa.utils.rest.ClientType;
+import in.zeta.qa.utils.rest.HttpMethod;
+import in.zeta.qa.utils.rest.metrics.HttpMetrics;
+import in.zeta.qa.utils.rest.metrics.HttpMetrics.Counter;
+import in.zeta.qa.utils.rest.stub.StubServer;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class HedgingTests extends StubServerTestBase {
+
+    private static final int SLOW_REQUEST = 11;
+    private static final long STALL_NANOS = Duration.ofSeconds(10).toNanos();
+
+    @Override
+    protected void routes(StubServer stub) {
+        AtomicInteger hits = new AtomicInteger();
+        // one request stalls, as a request stuck behind a GC pause or a slow replica would; the hedge is not delayed
+        stub.on(HttpMethod.GET, TestEndpoints.HEDGED_PING).json("{\"ok\":true}")
+                .latency(() -> hits.incrementAndGet() == SLOW_REQUEST ? STALL_NANOS : 0);
+    }
+
+    @Test
+    void testSlowRequestIsHedged() {
+        for (int i = 1; i < SLOW_REQUEST; i++) {
+            Assert.assertEquals(ping().execute().getStatusCode(), 200);   // latency samples for the percentile
+        }
+        HttpMetrics.EndpointMetrics metrics = HttpMetrics.forEndpoint(TestEndpoints.HEDGED_PING);
+        long hedges = metrics.getCount(Counter.HEDGES);
+        long hedgeWins = metrics.getCount(Counter.HEDGE_WINS);
+
+        Assert.assertEquals(ping().execute().getStatusCode(), 200);
+
+        Assert.assertEquals(metrics.getCount(Counter.HEDGES) - hedges, 1);
+        Assert.assertEquals(metrics.getCount(Counter.HEDGE_WINS) - hedgeWins, 1, "hedge should answer before the stalled request");
+    }
+
+    private ApiRequest<Void> ping() {
+        return ApiRequest.<Void>builder()
+                .client(ClientType.JAVA_HTTP)
+                .serverURL(stub.getUrl())
+                .endpoint(TestEndpoints.HEDGED_PING)
+                .method(HttpMethod.GET)
+                .build();
+    }
+}
@@ -0,0 +1,83 @@
+package in.zeta.qa;
+
+import com.sun.net.httpserver.HttpServer;
+import in.zeta.qa.utils.rest.ApiRequest;
+import in.zeta.qa.utils.rest.ClientType;
+import in.zeta.qa.utils.rest.HttpMethod;
+import in.zeta.qa.utils.rest.load.LoadReport;
+import in.zeta.qa.utils.rest.load.LoadRunner;
+import in.zeta.qa.utils.rest.load.LoadStage;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class LoadRunnerTests {
+
+    private HttpServer server;
+    private String serverUrl;
+
+    @BeforeClass
+    void startStub() throws IOException {
+        AtomicInteger hits = new AtomicInteger();
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/ping", exchange -> {
+            // every 10th request fails so the status code breakdown has something to show
+            int status = hits.incrementAndGet() % 10 == 0 ? 500 : 200;
+            byte[] body = "{\"ok\":true}".getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(status, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.setExecutor(Executors.newFixedThreadPool(8));
+        server.start();
+        serverUrl = "http://localhost:" + server.getAddress().getPort();
+    }
+
+    @AfterClass(alwaysRun = true)
+    void stopStub() {
+        server.stop(0);
+    }
+
+    @Test
+    void testOpenAndClosedModelStages() {
+        LoadReport report = LoadRunner.builder()
+                .requests(() -> ApiRequest.<Void>builder()
+                        .client(ClientType.JAVA_HTTP)
+                        .serverURL(serverUrl)
+                        .endpoint(TestEndpoints.PING)
+                        .method(HttpMethod.GET)
+                        .build())
+                .stage(LoadStage.rate("warm-up", Duration.ofMillis(500), 20).asWarmUp())
+                .stage(LoadStage.ramp("ramp", Duration.ofSeconds(1), 10, 50))
+                .stage(LoadStage.rate("steady", Duration.ofSeconds(1), 50))
+                .stage(LoadStage.concurrency("closed", Duration.ofSeconds(1), 4))
+                .build()
+                .run();
+
+        Assert.assertEquals(report.getStages().size(), 4);
+        LoadReport.StageReport warmUp = report.getStages().get(0);
+        Assert.assertEquals(warmUp.getRequests(), 10);
+        // 10 -> 50 req/s over one second schedules 30 arrivals (the last one may round either way)
+        Assert.assertTrue(Math.abs(report.getStages().get(1).getRequests() - 30) <= 1);
+        Assert.assertEquals(report.getStages().get(2).getRequests(), 50);
+
+        long measured = report.getStages().stream().filter(s -> !s.isWarmUp())
+                .mapToLong(LoadReport.StageReport::getRequests).sum();
+        Assert.assertEquals(report.getTotal().getRequests(), measured);
+        Assert.assertTrue(report.getTotal().getStatusCodes().get(200) > 0);
+        Assert.assertTrue(report.getTotal().getStatusCodes().get(500) > 0);
+        Assert.assertTrue(report.getErrorCount() > 0);
+        Assert.assertTrue(report.getTotal().getResponseTime().p99() >= report.getTotal().getServiceTime().p50());
+    }
+}
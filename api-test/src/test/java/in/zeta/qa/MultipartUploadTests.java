@@ -0,0 +1,68 @@
+package in.zeta.qa;
+
+import in.zeta.qa.utils.rest.ApiRequest;
+import in.zeta.qa.utils.rest.ClientType;
+import in.zeta.qa.utils.rest.HttpMethod;
+import in.zeta.qa.utils.rest.MultipartPart;
+import in.zeta.qa.utils.rest.stub.StubServer;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class MultipartUploadTests extends StubServerTestBase {
+
+    private static final long SIZE = 50L * 1024 * 1024;
+
+    @Override
+    protected void routes(StubServer stub) {
+        stub.on(HttpMethod.POST, TestEndpoints.UPLOAD).status(201);
+    }
+
+    /** 50 MB of generated content, never held in memory, with progress reported as it goes out. */
+    @Test(dataProvider = "clients")
+    void testGeneratedPartIsStreamed(ClientType client) {
+        AtomicLong lastProgress = new AtomicLong();
+        int status = ApiRequest.<Void>builder()
+                .client(client)
+                .serverURL(stub.getUrl())
+                .endpoint(TestEndpoints.UPLOAD)
+                .method(HttpMethod.POST)
+                .parts(List.of(
+                        MultipartPart.text("batch", "settlement-01"),
+                        MultipartPart.generated("settlement", "settlement.csv", "text/csv", SIZE, () -> zeros(SIZE))))
+                .uploadProgress((sent, total) -> {
+                    Assert.assertEquals(total, SIZE);
+                    lastProgress.set(sent);
+                })
+                .execute()
+                .getStatusCode();
+        Assert.assertEquals(status, 201);
+        Assert.assertEquals(lastProgress.get(), SIZE);
+    }
+
+    private static InputStream zeros(long size) {
+        return new InputStream() {
+            private long remaining = size;
+
+            @Override
+            public int read() {
+                if (remaining == 0) return -1;
+                remaining--;
+                return 0;
+            }
+
+            @Override
+            public int read(byte[] buffer, int offset, int length) {
+                if (remaining == 0) return -1;
+                int n = (int) Math.min(length, remaining);
+                Arrays.fill(buffer, offset, offset + n, (byte) 0);
+                remaining -= n;
+                return n;
+            }
+        };
+    }
+}
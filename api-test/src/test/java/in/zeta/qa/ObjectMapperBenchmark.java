@@ -0,0 +1,100 @@
+package in.zeta.qa;
+
+import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.annotation.PropertyAccessor;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import in.zeta.qa.utils.misc.ObjectMapperRegistry;
+import in.zeta.qa.utils.misc.ObjectMapperRegistry.Profile;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of a JSON round trip with a mapper configured per call, as {@code JsonHelper.getMapper()} used to do,
+ * against the cached readers/writers of {@link ObjectMapperRegistry}. Not part of the TestNG run, start it from
+ * {@link #main} on the test classpath after {@code mvn -pl api-test test-compile}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+public class ObjectMapperBenchmark {
+
+    private static final String JSON =
+            "{\"id\":42,\"status\":\"available\",\"tags\":[\"a\",\"b\",\"c\"],\"created\":[2026,10,18]}";
+    private static final Pet PET = new Pet(42, "available", List.of("a", "b", "c"), LocalDate.of(2026, 10, 18));
+
+    @Benchmark
+    public Pet readWithMapperPerCall() throws Exception {
+        return newMapper().readValue(JSON, Pet.class);
+    }
+
+    @Benchmark
+    public Pet readWithCachedReader() throws Exception {
+        return ObjectMapperRegistry.reader(Profile.DEFAULT, Pet.class).readValue(JSON);
+    }
+
+    @Benchmark
+    public String writeWithMapperPerCall() throws Exception {
+        return newMapper().writeValueAsString(PET);
+    }
+
+    @Benchmark
+    public String writeWithCachedWriter() throws Exception {
+        return ObjectMapperRegistry.writer(Profile.DEFAULT).writeValueAsString(PET);
+    }
+
+    /** The mapper {@code JsonHelper.getMapper()} built on every call. */
+    private static ObjectMapper newMapper() {
+        ObjectMapper mapper = new ObjectMapper();
+        mapper.configure(JsonParser.Feature.ALLOW_BACKSLASH_ESCAPING_ANY_CHARACTER, true);
+        mapper.configure(JsonParser.Feature.ALLOW_UNQUOTED_CONTROL_CHARS, true);
+        mapper.setVisibility(PropertyAccessor.FIELD, JsonAutoDetect.Visibility.ANY);
+        mapper.enable(DeserializationFeature.READ_UNKNOWN_ENUM_VALUES_AS_NULL);
+        mapper.enable(SerializationFeature.WRITE_EMPTY_JSON_ARRAYS);
+        mapper.registerModule(new JavaTimeModule());
+        return mapper;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(ObjectMapperBenchmark.class.getSimpleName()).build()).run();
+    }
+
+    public static class Pet {
+        private long id;
+        private String status;
+        private List<String> tags;
+        private LocalDate created;
+
+        public Pet() {
+        }
+
+        Pet(long id, String status, List<String> tags, LocalDate created) {
+            this.id = id;
+            this.status = status;
+            this.tags = tags;
+            this.created = created;
+        }
+    }
+}
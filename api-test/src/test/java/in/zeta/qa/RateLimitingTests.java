@@ -0,0 +1,80 @@
+package in.zeta.qa;
+
+import in.zeta.qa.utils.rest.ApiRequest;
+import in.zeta.qa.utils.rest.ApiResponse;
+import in.zeta.qa.utils.rest.ClientType;
+import in.zeta.qa.utils.rest.HttpMethod;
+import in.zeta.qa.utils.rest.metrics.HttpMetrics;
+import in.zeta.qa.utils.rest.metrics.HttpMetrics.Counter;
+import in.zeta.qa.utils.rest.stub.StubServer;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * {@link TestEndpoints#PACED_PING} allows 20 requests per second with bursts of 3, {@link TestEndpoints#THROTTLED_PING}
+ * answers 429 with a {@code Retry-After} of one second.
+ */
+public class RateLimitingTests extends StubServerTestBase {
+
+    private static final int BURST = 3;
+    private static final long INTERVAL_MILLIS = 50;
+
+    @Override
+    protected void routes(StubServer stub) {
+        stub.on(HttpMethod.GET, TestEndpoints.PING);
+        stub.on(HttpMethod.GET, TestEndpoints.PACED_PING).json("{\"ok\":true}");
+        stub.on(HttpMethod.GET, TestEndpoints.THROTTLED_PING).status(429).header("Retry-After", "1");
+    }
+
+    @Test
+    void testBurstThenPacing() {
+        // builds the client pipeline, so that the requests below are reserved back to back
+        Assert.assertEquals(request(TestEndpoints.PING).execute().getStatusCode(), 200);
+        HttpMetrics.EndpointMetrics metrics = HttpMetrics.forEndpoint(TestEndpoints.PACED_PING);
+        long waits = metrics.getCount(Counter.RATE_LIMIT_WAITS);
+        int requests = 8;
+
+        long start = System.nanoTime();
+        List<CompletableFuture<ApiResponse>> calls = IntStream.range(0, requests)
+                .mapToObj(i -> request(TestEndpoints.PACED_PING).executeAsync())
+                .toList();
+        calls.forEach(call -> Assert.assertEquals(call.join().getStatusCode(), 200));
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        // the burst goes out right away, every request after it waits for its slot INTERVAL_MILLIS after the previous
+        Assert.assertEquals(metrics.getCount(Counter.RATE_LIMIT_WAITS) - waits, requests - BURST);
+        Assert.assertTrue(elapsedMillis >= (requests - BURST) * INTERVAL_MILLIS,
+                "expected the requests after the burst to be spaced out, all took " + elapsedMillis + " ms");
+    }
+
+    @Test
+    void testRetryAfterPausesTheBucket() {
+        HttpMetrics.EndpointMetrics metrics = HttpMetrics.forEndpoint(TestEndpoints.THROTTLED_PING);
+        long waitMillis = metrics.getCount(Counter.RATE_LIMIT_WAIT_MILLIS);
+
+        Assert.assertEquals(request(TestEndpoints.THROTTLED_PING).execute().getStatusCode(), 429);
+
+        long start = System.nanoTime();
+        ApiResponse response = request(TestEndpoints.THROTTLED_PING).execute();
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        Assert.assertEquals(response.getStatusCode(), 429);
+        Assert.assertTrue(elapsedMillis >= 900,
+                "expected a pause of about 1 s after Retry-After, took " + elapsedMillis + " ms");
+        Assert.assertTrue(metrics.getCount(Counter.RATE_LIMIT_WAIT_MILLIS) - waitMillis >= 900);
+    }
+
+    private ApiRequest<Void> request(TestEndpoints endpoint) {
+        return ApiRequest.<Void>builder()
+                .client(ClientType.JAVA_HTTP)
+                .serverURL(stub.getUrl())
+                .endpoint(endpoint)
+                .method(HttpMethod.GET)
+                .build();
+    }
+}
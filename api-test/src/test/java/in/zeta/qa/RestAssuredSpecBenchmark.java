@@ -0,0 +1,126 @@
+package in.zeta.qa;
+
+import in.zeta.qa.utils.misc.ObjectMapperRegistry;
+import in.zeta.qa.utils.rest.HttpMethod;
+import in.zeta.qa.utils.rest.stub.StubServer;
+import io.restassured.RestAssured;
+import io.restassured.builder.RequestSpecBuilder;
+import io.restassured.config.HttpClientConfig;
+import io.restassured.config.ObjectMapperConfig;
+import io.restassured.config.RestAssuredConfig;
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+import io.restassured.specification.RequestSpecification;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of a RestAssured call against the local {@link StubServer} when the config, relaxed HTTPS validation and
+ * filters are applied on every call, as {@code AbstractRestAssuredService.execute} used to do, against merging the
+ * per-server base specification it now caches; once with the round trip and once for building the specification
+ * only. Run with {@code -prof gc} for the allocation per call. Not part of the TestNG run, start it from
+ * {@link #main} on the test classpath after {@code mvn -pl api-test test-compile}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+// the JDK server writes headers and body separately, without TCP_NODELAY each response waits on a delayed ACK
+@Fork(value = 1, jvmArgsAppend = "-Dsun.net.httpserver.nodelay=true")
+public class RestAssuredSpecBenchmark {
+
+    private static final RestAssuredConfig CONFIG = RestAssuredConfig.config()
+            .objectMapperConfig(ObjectMapperConfig.objectMapperConfig()
+                    .jackson2ObjectMapperFactory((cls, charset) -> ObjectMapperRegistry.defaultMapper()))
+            .httpClient(HttpClientConfig.httpClientConfig().reuseHttpClientInstance());
+
+    private StubServer stub;
+    private String url;
+    private RequestSpecification baseSpec;
+
+    @Setup
+    public void startStub() {
+        stub = StubServer.start();
+        stub.on(HttpMethod.GET, TestEndpoints.PING).json("{\"ok\":true}");
+        url = stub.getUrl() + TestEndpoints.PING.getPath();
+        baseSpec = new RequestSpecBuilder()
+                .setBaseUri(stub.getUrl())
+                .setConfig(CONFIG)
+                .setRelaxedHTTPSValidation()
+                .setUrlEncodingEnabled(false)
+                .addFilter(new PassThroughFilter())
+                .build();
+    }
+
+    @TearDown
+    public void stopStub() {
+        stub.close();
+    }
+
+    @Benchmark
+    public byte[] roundTripSpecPerCall() {
+        return specPerCall().get(url).asByteArray();
+    }
+
+    @Benchmark
+    public byte[] roundTripCachedBaseSpec() {
+        return withCachedBaseSpec().get(url).asByteArray();
+    }
+
+    /** The specification alone, without the loopback round trip that dominates the numbers above. */
+    @Benchmark
+    public RequestSpecification buildSpecPerCall() {
+        return specPerCall();
+    }
+
+    @Benchmark
+    public RequestSpecification buildWithCachedBaseSpec() {
+        return withCachedBaseSpec();
+    }
+
+    private static RequestSpecification specPerCall() {
+        return RestAssured.given()
+                .config(CONFIG)
+                .relaxedHTTPSValidation()
+                .urlEncodingEnabled(false)
+                .filter(new PassThroughFilter())
+                .header("Accept", "application/json");
+    }
+
+    private RequestSpecification withCachedBaseSpec() {
+        return RestAssured.given()
+                .spec(baseSpec)
+                .header("Accept", "application/json");
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(RestAssuredSpecBenchmark.class.getSimpleName()).build()).run();
+    }
+
+    /** Stands in for the framework's stateless filters, so both variants run the same filter chain. */
+    private static final class PassThroughFilter implements Filter {
+        @Override
+        public Response filter(FilterableRequestSpecification request, FilterableResponseSpecification response,
+                               FilterContext context) {
+            return context.next(request, response);
+        }
+    }
+}
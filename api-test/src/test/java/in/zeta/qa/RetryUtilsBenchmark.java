@@ -0,0 +1,79 @@
+package in.zeta.qa;
+
+import in.zeta.qa.constants.anotation.RetryOnFailure;
+import in.zeta.qa.utils.misc.RetryUtils;
+import in.zeta.qa.utils.rest.ApiResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-call overhead of {@link RetryUtils#executeWithRetry} with and without an annotated caller, next to the
+ * previous full-stack-trace lookup. Not part of the TestNG run, start it from {@link #main} on the test classpath
+ * after {@code mvn -pl api-test test-compile}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RetryUtilsBenchmark {
+
+    private static final ApiResponse OK = ApiResponse.builder().statusCode(200).body("{}").build();
+
+    private final RetryUtils retryUtils = new RetryUtils();
+
+    @Benchmark
+    public ApiResponse withoutAnnotation() {
+        return plainExecute(retryUtils);
+    }
+
+    @Benchmark
+    public ApiResponse withAnnotation() {
+        return annotatedExecute(retryUtils);
+    }
+
+    @Benchmark
+    public RetryOnFailure legacyLookupAlone() {
+        return legacyLookup();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(RetryUtilsBenchmark.class.getSimpleName()).build()).run();
+    }
+
+    @RetryOnFailure(count = 3, delayInSeconds = 1, statusCodes = {503})
+    private static ApiResponse annotatedExecute(RetryUtils retryUtils) {
+        return retryUtils.executeWithRetry(() -> OK);
+    }
+
+    private static ApiResponse plainExecute(RetryUtils retryUtils) {
+        return retryUtils.executeWithRetry(() -> OK);
+    }
+
+    /** The lookup {@link RetryUtils} used before: full stack trace, {@code Class.forName} and a method scan. */
+    private static RetryOnFailure legacyLookup() {
+        StackTraceElement caller = Thread.currentThread().getStackTrace()[2];
+        try {
+            return Arrays.stream(Class.forName(caller.getClassName()).getDeclaredMethods())
+                    .filter(method -> method.getName().equalsIgnoreCase(caller.getMethodName())
+                            && method.isAnnotationPresent(RetryOnFailure.class))
+                    .findFirst().map(method -> method.getAnnotation(RetryOnFailure.class)).orElse(null);
+        } catch (ClassNotFoundException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
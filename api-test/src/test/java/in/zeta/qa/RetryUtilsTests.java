@@ -0,0 +1,77 @@
+package in.zeta.qa;
+
+import com.sun.net.httpserver.HttpServer;
+import in.zeta.qa.constants.anotation.RetryOnFailure;
+import in.zeta.qa.utils.misc.RetryUtils;
+import in.zeta.qa.utils.rest.ApiRequest;
+import in.zeta.qa.utils.rest.ApiResponse;
+import in.zeta.qa.utils.rest.ClientType;
+import in.zeta.qa.utils.rest.HttpMethod;
+import in.zeta.qa.utils.rest.metrics.HttpMetrics;
+import in.zeta.qa.utils.rest.metrics.HttpMetrics.Counter;
+import lombok.extern.slf4j.Slf4j;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Slf4j
+public class RetryUtilsTests {
+
+    @Test
+    void testResolvesCallingMethodAnnotation() {
+        Assert.assertEquals(annotatedCall().count(), 3);
+        Assert.assertNull(plainCall());
+        Assert.assertSame(annotatedCall(), annotatedCall());
+    }
+
+    /**
+     * A host that always answers 503: with 3 retries per call, 20 calls would send 80 requests, the default budget
+     * (10 tokens + 0.2 per request) lets only about a third of the retries through.
+     */
+    @Test
+    void testRetryBudgetCapsRetriesToFailingHost() throws IOException {
+        AtomicInteger hits = new AtomicInteger();
+        HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/ping", exchange -> {
+            hits.incrementAndGet();
+            exchange.sendResponseHeaders(503, -1);
+            exchange.close();
+        });
+        server.start();
+        try {
+            String serverUrl = "http://localhost:" + server.getAddress().getPort();
+            for (int i = 0; i < 20; i++) {
+                Assert.assertEquals(callFailingHost(serverUrl).getStatusCode(), 503);
+            }
+        } finally {
+            server.stop(0);
+        }
+        HttpMetrics.EndpointMetrics metrics = HttpMetrics.forEndpoint(TestEndpoints.PING);
+        log.info("20 calls to a failing host: {} requests, {} retries, {} denied", hits.get(),
+                metrics.getCount(Counter.RETRIES), metrics.getCount(Counter.RETRIES_DENIED));
+        Assert.assertTrue(hits.get() < 40, "retries should be capped by the budget, got " + hits.get());
+        Assert.assertTrue(metrics.getCount(Counter.RETRIES_DENIED) > 0);
+    }
+
+    @RetryOnFailure(count = 3, delayInSeconds = 0, statusCodes = {503})
+    private static ApiResponse callFailingHost(String serverUrl) {
+        return ApiRequest.<Void>builder()
+                .client(ClientType.JAVA_HTTP)
+                .serverURL(serverUrl)
+                .endpoint(TestEndpoints.PING)
+                .method(HttpMethod.GET)
+                .execute();
+    }
+
+    @RetryOnFailure(count = 3, delayInSeconds = 1, statusCodes = {503})
+    private static RetryOnFailure annotatedCall() {
+        return RetryUtils.getCallingMethodRetryAnnotation();
+    }
+
+    private static RetryOnFailure plainCall() {
+        return RetryUtils.getCallingMethodRetryAnnotation();
+    }
+}
@@ -0,0 +1,40 @@
+package in.zeta.qa;
+
+import in.zeta.qa.utils.rest.ClientType;
+import in.zeta.qa.utils.rest.stub.StubServer;
+import lombok.extern.slf4j.Slf4j;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.DataProvider;
+
+import java.util.Arrays;
+
+/**
+ * Starts a {@link StubServer} for the test class with the routes declared in {@link #routes(StubServer)}, and stops
+ * it afterwards. Tests using the {@code clients} data provider run once per {@link ClientType}.
+ */
+@Slf4j
+public abstract class StubServerTestBase {
+
+    protected StubServer stub;
+
+    protected abstract void routes(StubServer stub);
+
+    @BeforeClass
+    void startStub() {
+        long start = System.nanoTime();
+        stub = StubServer.start();
+        log.info("Stub server started in {} ms", (System.nanoTime() - start) / 1_000_000);
+        routes(stub);
+    }
+
+    @AfterClass(alwaysRun = true)
+    void stopStub() {
+        stub.close();
+    }
+
+    @DataProvider
+    Object[][] clients() {
+        return Arrays.stream(ClientType.values()).map(client -> new Object[]{client}).toArray(Object[][]::new);
+    }
+}
@@ -0,0 +1,53 @@
+package in.zeta.qa;
+
+import in.zeta.qa.utils.rest.ApiRequest;
+import in.zeta.qa.utils.rest.ApiResponse;
+import in.zeta.qa.utils.rest.ClientType;
+import in.zeta.qa.utils.rest.HttpMethod;
+import in.zeta.qa.utils.rest.stub.Latency;
+import in.zeta.qa.utils.rest.stub.StubRoute;
+import in.zeta.qa.utils.rest.stub.StubServer;
+import lombok.extern.slf4j.Slf4j;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.time.Duration;
+import java.util.Map;
+
+@Slf4j
+public class StubServerTests extends StubServerTestBase {
+
+    @Override
+    protected void routes(StubServer stub) {
+        stub.on(HttpMethod.GET, Endpoints.FIND_BY_STATUS)
+                .json("[{\"id\":1,\"status\":\"available\"}]")
+                .latency(Latency.uniform(Duration.ofMillis(1), Duration.ofMillis(5)));
+    }
+
+    @Test(dataProvider = "clients")
+    void testEveryClientAgainstStub(ClientType client) {
+        ApiResponse response = ApiRequest.<Void>builder()
+                .client(client)
+                .serverURL(stub.getUrl())
+                .endpoint(Endpoints.FIND_BY_STATUS)
+                .pathParams(Map.of("statusValue", "available"))
+                .method(HttpMethod.GET)
+                .execute();
+        Assert.assertEquals(response.getStatusCode(), 200);
+        Assert.assertEquals(response.getBodyAsJsonNode().get(0).get("status").asText(), "available");
+    }
+
+    @Test
+    void testInjectedErrorsAreCounted() {
+        StubRoute route = stub.on(HttpMethod.GET, TestEndpoints.PING).errors(1.0, 503);
+        ApiResponse response = ApiRequest.<Void>builder()
+                .client(ClientType.JAVA_HTTP)
+                .serverURL(stub.getUrl())
+                .endpoint(TestEndpoints.PING)
+                .method(HttpMethod.GET)
+                .execute();
+        Assert.assertEquals(response.getStatusCode(), 503);
+        Assert.assertEquals(route.getInjectedErrors(), route.getRequests());
+        log.info("Stub throughput: {}", stub.throughput());
+    }
+}
@@ -0,0 +1,28 @@
+package in.zeta.qa;
+
+import in.zeta.qa.constants.anotation.CircuitBreaker;
+import in.zeta.qa.constants.anotation.Hedge;
+import in.zeta.qa.constants.anotation.RateLimit;
+import in.zeta.qa.constants.endpoints.ApiEndpoint;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/** Endpoints served by the local stubs of the tests in this module. */
+@AllArgsConstructor
+@Getter
+public enum TestEndpoints implements ApiEndpoint {
+    PING("/ping"),
+    @Hedge(minSamples = 10, minDelayMillis = 20)
+    HEDGED_PING("/hedged-ping"),
+    UPLOAD("/upload"),
+    REPORT("/report"),
+    @CircuitBreaker(failureThreshold = 3, openSeconds = 1)
+    GUARDED_PING("/guarded-ping"),
+    @RateLimit(permitsPerSecond = 20, burst = 3)
+    PACED_PING("/paced-ping"),
+    @RateLimit(permitsPerSecond = 100)
+    THROTTLED_PING("/throttled-ping");
+
+    private final String path;
+
+}
@@ -0,0 +1,71 @@
+package in.zeta.qa;
+
+import in.zeta.qa.constants.endpoints.JenkinsEndpoints;
+import in.zeta.qa.utils.rest.UrlTemplate;
+import lombok.extern.slf4j.Slf4j;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+
+@Slf4j
+public class UrlTemplateTests {
+
+    private static final String BASE = "https://jenkins.example.com/";
+    private static final Map<String, Object> PARAMS = Map.of("PATH", "team/job/nightly", "TOKEN", "s3cr3t");
+
+    @Test
+    void testExpansionAndEncoding() {
+        Assert.assertEquals(UrlTemplate.of(JenkinsEndpoints.GET_BUILD_INFO).expand(BASE, PARAMS, null),
+                "https://jenkins.example.com/job/team/job/nightly/api/json?token=s3cr3t");
+        Assert.assertEquals(UrlTemplate.of(JenkinsEndpoints.GET_BUILD_INFO)
+                        .expand(BASE, Map.of("PATH", "a b/%C3%BC", "TOKEN", "x&y=z"), Map.of("depth", 1)),
+                "https://jenkins.example.com/job/a%20b/%C3%BC/api/json?token=x%26y%3Dz&depth=1");
+        Assert.assertEquals(UrlTemplate.of(TestEndpoints.PING).expand(BASE, null, Map.of("q", "a+b")),
+                "https://jenkins.example.com/ping?q=a%2Bb");
+        Assert.assertSame(UrlTemplate.of(JenkinsEndpoints.GET_BUILD_INFO), UrlTemplate.of(JenkinsEndpoints.GET_BUILD_INFO));
+    }
+
+    /**
+     * Allocation comparison against the previous replace-per-parameter expansion (per-thread allocation counters are
+     * stable enough to assert on in the regular run, unlike the throughput the JMH benchmarks report).
+     */
+    @Test
+    void testAllocatesLessThanStringReplace() {
+        UrlTemplate template = UrlTemplate.of(JenkinsEndpoints.GET_BUILD_INFO);
+        int iterations = 200_000;
+        for (int i = 0; i < iterations; i++) {   // warm-up
+            template.expand(BASE, PARAMS, null);
+            legacyExpand(BASE, JenkinsEndpoints.GET_BUILD_INFO.getPath(), PARAMS);
+        }
+        long templateBytes = allocatedBytes(() -> {
+            for (int i = 0; i < iterations; i++) template.expand(BASE, PARAMS, null);
+        });
+        long legacyBytes = allocatedBytes(() -> {
+            for (int i = 0; i < iterations; i++) legacyExpand(BASE, JenkinsEndpoints.GET_BUILD_INFO.getPath(), PARAMS);
+        });
+        log.info("URL expansion: template {} B/op, String.replace {} B/op",
+                templateBytes / iterations, legacyBytes / iterations);
+        Assert.assertTrue(templateBytes < legacyBytes);
+    }
+
+    private static String legacyExpand(String base, String path, Map<String, Object> params) {
+        for (var entry : params.entrySet()) {
+            path = path.replace("{" + entry.getKey() + "}", String.valueOf(entry.getValue()));
+        }
+        return stripTrailingSlash(base) + stripTrailingSlash(path);
+    }
+
+    private static String stripTrailingSlash(String s) {
+        while (s.endsWith("/")) s = s.substring(0, s.length() - 1);
+        return s;
+    }
+
+    private static long allocatedBytes(Runnable work) {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long before = threads.getCurrentThreadAllocatedBytes();
+        work.run();
+        return threads.getCurrentThreadAllocatedBytes() - before;
+    }
+}
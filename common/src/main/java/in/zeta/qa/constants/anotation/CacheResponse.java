@@ -0,0 +1,20 @@
+package in.zeta.qa.constants.anotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Opts an {@code ApiEndpoint} enum constant (or every constant of the annotated enum) into the HTTP response cache,
+ * even when {@code http.cache.enabled} is off. Only GET responses are cached.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD, ElementType.TYPE})
+public @interface CacheResponse {
+    /**
+     * Freshness lifetime overriding the server's {@code Cache-Control}/{@code Expires}; {@code -1} follows the
+     * response headers. {@code no-store} responses are never cached.
+     */
+    long ttlSeconds() default -1;
+}
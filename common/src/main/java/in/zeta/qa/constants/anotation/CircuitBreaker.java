@@ -0,0 +1,26 @@
+package in.zeta.qa.constants.anotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Puts an {@code ApiEndpoint} enum constant (or every constant of the annotated enum) behind a circuit breaker, one
+ * per endpoint and server: after {@link #failureThreshold()} consecutive failures requests fail fast with a
+ * {@code CircuitOpenException} for {@link #openSeconds()}, then {@link #halfOpenProbes()} trial requests decide
+ * whether the circuit closes again. With {@code http.circuitBreaker.enabled=true} every endpoint gets a breaker with
+ * the default settings.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD, ElementType.TYPE})
+public @interface CircuitBreaker {
+    /** Consecutive failures (errors without a response or failure status codes) that open the circuit. */
+    int failureThreshold() default 5;
+    /** How long an open circuit rejects requests before letting probes through. */
+    long openSeconds() default 30;
+    /** Concurrent trial requests allowed while half-open. */
+    int halfOpenProbes() default 1;
+    /** Status codes counted as failures, {0} = any 5xx. */
+    int[] failureStatusCodes() default {0};
+}
@@ -0,0 +1,20 @@
+package in.zeta.qa.constants.anotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Opts an {@code ApiEndpoint} enum constant (or every constant of the annotated enum) into request coalescing:
+ * concurrent identical requests share a single network call and receive the same response.
+ * Only GET/HEAD/OPTIONS requests are coalesced unless {@link #includeBody()} is set.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD, ElementType.TYPE})
+public @interface Coalesce {
+    /** Treat requests with a body (e.g. POST based search APIs) as reads; the body becomes part of the key. */
+    boolean includeBody() default false;
+    /** Headers that vary per request without affecting the response (e.g. request ids), left out of the key. */
+    String[] ignoredHeaders() default {};
+}
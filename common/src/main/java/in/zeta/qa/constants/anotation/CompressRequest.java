@@ -0,0 +1,18 @@
+package in.zeta.qa.constants.anotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Sends request bodies of an {@code ApiEndpoint} enum constant (or every constant of the annotated enum) gzip
+ * compressed with {@code Content-Encoding: gzip} once they reach {@link #minBytes()}. Only for servers known to
+ * accept compressed requests; {@code http.compression.requestMinBytes} enables it for every endpoint.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD, ElementType.TYPE})
+public @interface CompressRequest {
+    /** Smaller bodies are sent as they are, compressing them costs more than it saves. */
+    int minBytes() default 1024;
+}
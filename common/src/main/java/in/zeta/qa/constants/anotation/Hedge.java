@@ -0,0 +1,25 @@
+package in.zeta.qa.constants.anotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Opts an {@code ApiEndpoint} enum constant (or every constant of the annotated enum) into request hedging: when
+ * a request has not been answered within the {@link #percentile()} of the endpoint's observed latency, a duplicate
+ * is sent and whichever response arrives first wins. Only GET/HEAD/OPTIONS requests are hedged unless
+ * {@link #idempotent()} is set.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD, ElementType.TYPE})
+public @interface Hedge {
+    /** Latency percentile of the endpoint after which the duplicate is sent. */
+    double percentile() default 95;
+    /** Lower bound of the hedge delay, guards against hedging everything on a very fast endpoint. */
+    long minDelayMillis() default 50;
+    /** Requests to observe before hedging starts; until then there is no latency to go by. */
+    int minSamples() default 20;
+    /** Declares requests with a body (e.g. POST based search APIs) safe to send twice. */
+    boolean idempotent() default false;
+}
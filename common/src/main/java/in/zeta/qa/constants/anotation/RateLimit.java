@@ -0,0 +1,19 @@
+package in.zeta.qa.constants.anotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Paces requests to an {@code ApiEndpoint} enum constant (or every constant of the annotated enum) to at most
+ * {@link #permitsPerSecond()}, allowing short bursts of {@link #burst()} requests. The property
+ * {@code http.rateLimit.<Enum>.<CONSTANT>=<permitsPerSecond>[,<burst>]} overrides it.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD, ElementType.TYPE})
+public @interface RateLimit {
+    double permitsPerSecond();
+    /** Requests that may go out back to back after an idle period. */
+    int burst() default 1;
+}
@@ -10,5 +10,9 @@ import java.lang.annotation.Target;
 public @interface RetryOnFailure {
     int count() default 1; // Number of retry attempts
     int delayInSeconds() default 1;
-    int[] statusCodes() default {0};// Delay
+    int[] statusCodes() default {0};// Delay, {0} = any 5xx
+    double backoffMultiplier() default 1; // > 1: delay grows by this factor after every retry
+    int maxDelayInSeconds() default 60; // Upper bound of the exponential backoff delay
+    double jitter() default 0; // 0..1: each delay is randomly varied by up to this fraction
+    int maxDurationInSeconds() default 0; // Stop retrying once this much time has passed since the first attempt, 0 = unbounded
 }
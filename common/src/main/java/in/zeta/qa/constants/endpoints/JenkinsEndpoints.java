@@ -1,5 +1,7 @@
 package in.zeta.qa.constants.endpoints;
 
+import in.zeta.qa.constants.anotation.Coalesce;
+import in.zeta.qa.constants.anotation.Hedge;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 
@@ -7,9 +9,13 @@ import lombok.Getter;
 @Getter
 public enum JenkinsEndpoints implements ApiEndpoint {
     BUILD_WITH_PARAM("/job/{PATH}/buildWithParameters?token={TOKEN}"),
+    @Coalesce
+    @Hedge
     GET_BUILD_INFO("/job/{PATH}/api/json?token={TOKEN}"),
     GET_BUILD_CONSOLE_TEXT("/job/{PATH}/{JOB_ID}/consoleText?token={TOKEN}"),
+    @Coalesce
     GET_BUILDS("/job/{JOB_NAME}/api/json?tree=builds[number,result,timestamp,duration,actions[causes[shortDescription]]]"),
+    @Coalesce
     GET_ALLURE_REPORTS_BY_JOB_ID("/job/{JOB_NAME}/{BUILD_ID}/allure/widgets/summary.json");
 
     private final String path;
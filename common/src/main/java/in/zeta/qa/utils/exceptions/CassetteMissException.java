@@ -0,0 +1,7 @@
+package in.zeta.qa.utils.exceptions;
+
+public class CassetteMissException extends RuntimeException {
+    public CassetteMissException(String errorMessage) {
+        super(errorMessage);
+    }
+}
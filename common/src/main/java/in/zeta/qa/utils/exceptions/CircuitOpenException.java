@@ -0,0 +1,7 @@
+package in.zeta.qa.utils.exceptions;
+
+public class CircuitOpenException extends RuntimeException {
+    public CircuitOpenException(String errorMessage) {
+        super(errorMessage);
+    }
+}
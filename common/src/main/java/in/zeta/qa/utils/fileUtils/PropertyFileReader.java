@@ -17,6 +17,7 @@ import java.util.stream.Stream;
 public class PropertyFileReader {
 
     private static volatile Properties properties;
+    private static volatile Properties globalSettings;
 
     private PropertyFileReader() {
         // prevent instantiation
@@ -193,4 +194,58 @@ public class PropertyFileReader {
         return StringUtils.isNotEmpty(val) ? List.of(val.split(",")) : Collections.emptyList();
     }
 
-}
\ No newline at end of file
+    // ---------------------- Framework Settings ----------------------
+
+    /**
+     * Reads a framework setting (e.g. {@code http.*}) without bootstrapping the environment, so that code paths which
+     * need none keep working without {@code environment}, {@code tenantId} and {@code coa}: the system property,
+     * else the loaded properties (before they are loaded, {@code environments/application.properties}), else the
+     * default.
+     */
+    public static String getSetting(String key, String defaultValue) {
+        String value = System.getProperty(key);
+        if (value != null) return value;
+        Properties loaded = properties != null ? properties : globalSettings();
+        return loaded.getProperty(key, defaultValue);
+    }
+
+    public static boolean getBooleanSetting(String key, boolean defaultValue) {
+        String val = getSetting(key, null);
+        return StringUtils.isNotEmpty(val) ? Boolean.parseBoolean(val.trim()) : defaultValue;
+    }
+
+    public static int getIntSetting(String key, int defaultValue) {
+        String val = getSetting(key, null);
+        return StringUtils.isNotBlank(val) ? Integer.parseInt(val.trim()) : defaultValue;
+    }
+
+    public static long getLongSetting(String key, long defaultValue) {
+        String val = getSetting(key, null);
+        return StringUtils.isNotBlank(val) ? Long.parseLong(val.trim()) : defaultValue;
+    }
+
+    public static double getDoubleSetting(String key, double defaultValue) {
+        String val = getSetting(key, null);
+        return StringUtils.isNotBlank(val) ? Double.parseDouble(val.trim()) : defaultValue;
+    }
+
+    public static List<String> getListSetting(String key) {
+        String val = getSetting(key, null);
+        return StringUtils.isNotEmpty(val) ? List.of(val.split(",")) : Collections.emptyList();
+    }
+
+    private static Properties globalSettings() {
+        Properties settings = globalSettings;
+        if (settings != null) return settings;
+        settings = new Properties();
+        try (InputStream input = Thread.currentThread().getContextClassLoader()
+                .getResourceAsStream("environments/application.properties")) {
+            if (input != null) settings.load(input);
+        } catch (IOException e) {
+            log.warn("Unable to read environments/application.properties, using default settings", e);
+        }
+        globalSettings = settings;
+        return settings;
+    }
+
+}
@@ -1,12 +1,8 @@
 package in.zeta.qa.utils.fileUtils;
 
-import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.DeserializationFeature;
-import com.fasterxml.jackson.databind.MapperFeature;
-import com.fasterxml.jackson.databind.SerializationFeature;
-import com.fasterxml.jackson.dataformat.xml.XmlMapper;
-import com.fasterxml.jackson.dataformat.xml.ser.ToXmlGenerator;
+import in.zeta.qa.utils.misc.ObjectMapperRegistry;
+import in.zeta.qa.utils.misc.ObjectMapperRegistry.Profile;
 import lombok.SneakyThrows;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -22,26 +18,14 @@ import java.io.File;
 public class XmlUtils {
     private static final Logger LOG = LogManager.getLogger(XmlUtils.class);
 
-    private XmlMapper getXmlMapper() {
-        XmlMapper mapper = new XmlMapper();
-        mapper.enable(SerializationFeature.INDENT_OUTPUT);
-        mapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
-        mapper.setSerializationInclusion(JsonInclude.Include.NON_EMPTY);
-        mapper.setSerializationInclusion(JsonInclude.Include.NON_NULL);
-        mapper.configure(MapperFeature.ACCEPT_CASE_INSENSITIVE_PROPERTIES, true);
-        mapper.configure(ToXmlGenerator.Feature.WRITE_XML_DECLARATION, false);
-        mapper.setDefaultUseWrapper(false);
-        return mapper;
-    }
-
     @SneakyThrows
     public <T> T getPojoFromString(String xmlText, Class<T> classname) {
-        return getXmlMapper().readValue(xmlText, classname);
+        return ObjectMapperRegistry.reader(Profile.XML, classname).readValue(xmlText);
     }
 
     @SneakyThrows
     public <T> T getPojoFromStringWithoutRootNameCheck(String xmlText, Class<T> classname) {
-        return getXmlMapper().readerFor(classname).withoutRootName().readValue(xmlText);
+        return ObjectMapperRegistry.reader(Profile.XML, classname).withoutRootName().readValue(xmlText);
     }
 
     /**
@@ -51,7 +35,7 @@ public class XmlUtils {
      */
     public <T> String convertObjectToXmlString(T object) {
         try {
-            return getXmlMapper().writeValueAsString(object);
+            return ObjectMapperRegistry.writer(Profile.XML).writeValueAsString(object);
         } catch (JsonProcessingException e) {
             throw new RuntimeException("Error converting object to XML string", e);
         }
@@ -67,7 +51,7 @@ public class XmlUtils {
         String NAMESPACE = " xmlns:ns2=\"http://npci.org/upi/schema/\"";
         try {
             // Convert the object to XML with the specified root name
-            String xml = getXmlMapper().writer().withRootName(PREFIX + rootName).writeValueAsString(object);
+            String xml = ObjectMapperRegistry.writer(Profile.XML).withRootName(PREFIX + rootName).writeValueAsString(object);
             // Dynamically replace the root element with the namespace
             xml = xml.replaceFirst("<" + PREFIX + rootName + ">",
                     "<" + PREFIX + rootName + NAMESPACE + ">");
@@ -1,19 +1,15 @@
 package in.zeta.qa.utils.misc;
 
 import com.fasterxml.jackson.annotation.*;
-import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.SerializationFeature;
-import com.fasterxml.jackson.databind.module.SimpleModule;
 import com.fasterxml.jackson.databind.type.CollectionType;
-import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import in.zeta.qa.constants.CommonConstants;
 import in.zeta.qa.utils.customdeserializer.CustomIgnoreDeserializer;
 import in.zeta.qa.utils.fileUtils.FileReadHelper;
+import in.zeta.qa.utils.misc.ObjectMapperRegistry.Profile;
 import in.zeta.qa.utils.rest.ApiResponse;
 import io.restassured.response.Response;
 import lombok.SneakyThrows;
@@ -49,23 +45,18 @@ public class JsonHelper implements CommonConstants {
     // 🔹 ObjectMapper Config
     // ============================
 
+    /**
+     * Returns the process-wide default mapper, see {@link ObjectMapperRegistry}. The instance is shared - do not reconfigure it.
+     */
     public ObjectMapper getMapper() {
-        ObjectMapper mapper = new ObjectMapper();
-        mapper.configure(JsonParser.Feature.ALLOW_BACKSLASH_ESCAPING_ANY_CHARACTER, true);
-        mapper.configure(JsonParser.Feature.ALLOW_UNQUOTED_CONTROL_CHARS, true);
-        mapper.setVisibility(PropertyAccessor.FIELD, JsonAutoDetect.Visibility.ANY);
-        mapper.enable(DeserializationFeature.READ_UNKNOWN_ENUM_VALUES_AS_NULL);
-        mapper.enable(SerializationFeature.WRITE_EMPTY_JSON_ARRAYS);
-        mapper.registerModule(new JavaTimeModule());
-        return mapper;
+        return ObjectMapperRegistry.defaultMapper();
     }
 
+    /**
+     * Returns the process-wide mapper with {@link CustomIgnoreDeserializer} registered. The instance is shared - do not reconfigure it.
+     */
     public ObjectMapper getCustomDeserializeMapper() {
-        ObjectMapper mapper = getMapper();
-        SimpleModule module = new SimpleModule();
-        module.addDeserializer(Map.class, new CustomIgnoreDeserializer());
-        mapper.registerModule(module);
-        return mapper;
+        return ObjectMapperRegistry.mapper(Profile.CUSTOM_DESERIALIZE);
     }
 
     // ====================================================================================
@@ -74,7 +65,7 @@ public class JsonHelper implements CommonConstants {
 
     public Map<String, Object> convertJsonToMap(String json) {
         try {
-            return getMapper().readValue(json, Map.class);
+            return ObjectMapperRegistry.reader(Profile.DEFAULT, Map.class).readValue(json);
         } catch (JsonProcessingException e) {
             throw new RuntimeException(e);
         }
@@ -82,7 +73,7 @@ public class JsonHelper implements CommonConstants {
 
     public String convertMapToJsonString(Map<String, Object> jsonMap) {
         try {
-            return getMapper().writerWithDefaultPrettyPrinter().writeValueAsString(jsonMap);
+            return ObjectMapperRegistry.prettyWriter(Profile.DEFAULT).writeValueAsString(jsonMap);
         } catch (JsonProcessingException e) {
             throw new RuntimeException(e);
         }
@@ -90,7 +81,7 @@ public class JsonHelper implements CommonConstants {
 
     public <T> String convertObjectToJsonString(T object) {
         try {
-            return getMapper().writeValueAsString(object);
+            return ObjectMapperRegistry.writer(Profile.DEFAULT).writeValueAsString(object);
         } catch (JsonProcessingException e) {
             throw new RuntimeException(e);
         }
@@ -98,7 +89,7 @@ public class JsonHelper implements CommonConstants {
 
     public <T> JsonNode convertObjectToJsonNode(T object) {
         try {
-            return convertToJsonNode(getMapper().writeValueAsString(object));
+            return convertToJsonNode(ObjectMapperRegistry.writer(Profile.DEFAULT).writeValueAsString(object));
         } catch (JsonProcessingException e) {
             throw new RuntimeException(e);
         }
@@ -125,13 +116,11 @@ public class JsonHelper implements CommonConstants {
 
     @SneakyThrows
     public JsonNode convertToJsonNode(String response) {
-        ObjectMapper mapper = getMapper();
-        return mapper.readTree(response);
+        return getMapper().readTree(response);
     }
 
-    @SneakyThrows
     public JsonNode convertToJsonNode(ApiResponse response) {
-        return getMapper().readTree(response.getBody());
+        return response.getBodyAsJsonNode();
     }
 
     @SneakyThrows
@@ -141,21 +130,21 @@ public class JsonHelper implements CommonConstants {
     }
 
     public String convertJsonNodeToString(JsonNode jsonNode) throws Exception {
-        return getMapper().writeValueAsString(jsonNode);
+        return ObjectMapperRegistry.writer(Profile.DEFAULT).writeValueAsString(jsonNode);
     }
 
     public String convertJsonNodeToString(List<JsonNode> nodes) throws Exception {
-        return getMapper().writeValueAsString(nodes);
+        return ObjectMapperRegistry.writer(Profile.DEFAULT).writeValueAsString(nodes);
     }
 
     public String toPrettyJsonString(JsonNode jsonNode) throws Exception {
-        return getMapper().writerWithDefaultPrettyPrinter().writeValueAsString(jsonNode);
+        return ObjectMapperRegistry.prettyWriter(Profile.DEFAULT).writeValueAsString(jsonNode);
     }
 
     public String prettyPrintJson(String json) {
         try {
-            Object jsonObj = getMapper().readValue(json, Object.class);
-            return getMapper().writerWithDefaultPrettyPrinter().writeValueAsString(jsonObj);
+            Object jsonObj = ObjectMapperRegistry.reader(Profile.DEFAULT, Object.class).readValue(json);
+            return ObjectMapperRegistry.prettyWriter(Profile.DEFAULT).writeValueAsString(jsonObj);
         } catch (Exception e) {
             return json; // Fallback
         }
@@ -188,6 +177,18 @@ public class JsonHelper implements CommonConstants {
         return getObjectFromString(response.body().asString(), classname);
     }
 
+    /**
+     * Deserializes the response straight from its raw body, without decoding it to a String first.
+     */
+    public <T> T getObjectFromResponse(ApiResponse response, Class<T> classname) {
+        if (response.isBodyEmpty()) {
+            LOG.warn("Empty or null JSON string provided for deserialization to {}", classname.getSimpleName());
+            Assert.fail("Empty or null JSON string provided for deserialization to " + classname.getSimpleName());
+            return null;
+        }
+        return response.getBodyAs(classname);
+    }
+
     @SneakyThrows
     public <T> T getObjectFromString(String messageText, Class<T> classname) {
         if (messageText == null || messageText.isEmpty()) {
@@ -195,17 +196,17 @@ public class JsonHelper implements CommonConstants {
             Assert.fail("Empty or null JSON string provided for deserialization to " + classname.getSimpleName());
             return null;
         }
-        return getMapper().readValue(messageText, classname);
+        return ObjectMapperRegistry.reader(Profile.DEFAULT, classname).readValue(messageText);
     }
 
     public <T> T getObjectFromStringUsingCustomObjectMapper(String messageText, Class<T> classname) throws Exception {
-        return getCustomDeserializeMapper().readValue(messageText, classname);
+        return ObjectMapperRegistry.reader(Profile.CUSTOM_DESERIALIZE, classname).readValue(messageText);
     }
 
     public <T> List<T> getObjectsFromString(String messageText, Class<T> classname) throws Exception {
         CollectionType listType = getMapper().getTypeFactory()
                 .constructCollectionType(ArrayList.class, classname);
-        return getMapper().readValue(messageText, listType);
+        return ObjectMapperRegistry.reader(Profile.DEFAULT, listType).readValue(messageText);
     }
 
     public <T> T getObjectFromJsonFile(String filePath, Class<T> classname) throws Exception {
@@ -220,8 +221,7 @@ public class JsonHelper implements CommonConstants {
 
     public <T> T getObjectFromJsonNode(JsonNode jsonNode, Class<T> clazz) {
         try {
-            String json = convertJsonNodeToString(jsonNode);
-            return getMapper().readValue(json, clazz);
+            return ObjectMapperRegistry.reader(Profile.DEFAULT, clazz).readValue(jsonNode);
         } catch (Exception ignored) {
         }
         return null;
@@ -230,9 +230,8 @@ public class JsonHelper implements CommonConstants {
     public <T> List<T> getObjectsFromJsonArrNode(JsonNode jsonNode, Class<T> clazz) {
         if (!jsonNode.isArray()) return new ArrayList<>();
         try {
-            String json = convertJsonNodeToString(jsonNode);
-            return getMapper().readValue(json,
-                    getMapper().getTypeFactory().constructCollectionType(List.class, clazz));
+            return ObjectMapperRegistry.reader(Profile.DEFAULT,
+                    getMapper().getTypeFactory().constructCollectionType(List.class, clazz)).readValue(jsonNode);
         } catch (Exception e) {
             return null;
         }
@@ -350,7 +349,7 @@ public class JsonHelper implements CommonConstants {
 
     public static <T> T deserialize(String json, Class<T> targetType) {
         try {
-            return new JsonHelper().getMapper().readValue(json, targetType);
+            return ObjectMapperRegistry.reader(Profile.DEFAULT, targetType).readValue(json);
         } catch (JsonProcessingException e) {
             throw new RuntimeException("Error deserializing JSON to " + targetType.getSimpleName(), e);
         }
@@ -358,17 +357,16 @@ public class JsonHelper implements CommonConstants {
 
     public <T> T deserialize(String json, TypeReference<T> typeReference) {
         try {
-            return getMapper().readValue(json, typeReference);
+            return ObjectMapperRegistry.reader(Profile.DEFAULT, typeReference).readValue(json);
         } catch (JsonProcessingException e) {
             throw new RuntimeException("Error deserializing JSON to " + typeReference.getType().getTypeName(), e);
         }
     }
 
     public static <T> T deserializeFromFile(String filePath, Class<T> targetType) {
-        ObjectMapper mapper = new JsonHelper().getMapper();
         try {
             String jsonContent = FileReadHelper.readFileScanningModules(filePath);
-            return mapper.readValue(jsonContent, targetType);
+            return ObjectMapperRegistry.reader(Profile.DEFAULT, targetType).readValue(jsonContent);
         } catch (IOException e) {
             throw new RuntimeException("Error reading or deserializing file: " + filePath, e);
         }
@@ -0,0 +1,154 @@
+package in.zeta.qa.utils.misc;
+
+import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.PropertyAccessor;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.dataformat.xml.XmlMapper;
+import com.fasterxml.jackson.dataformat.xml.ser.ToXmlGenerator;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import in.zeta.qa.utils.customdeserializer.CustomIgnoreDeserializer;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Process-wide registry of the Jackson configurations used across the framework.
+ * <p>
+ * Each {@link Profile} is configured exactly once; the resulting {@link ObjectMapper} is shared by all
+ * threads and the per-type {@link ObjectReader}/{@link ObjectWriter} instances derived from it are cached.
+ * Readers and writers are immutable, the shared mappers must be treated as read-only - never call
+ * {@code configure}/{@code registerModule} on an instance returned from here, create a copy instead.
+ */
+public final class ObjectMapperRegistry {
+
+    public enum Profile {
+        /** Default JSON mapper used by {@link JsonHelper} and the REST clients. */
+        DEFAULT,
+        /** Default mapper plus {@link CustomIgnoreDeserializer} for maps. */
+        CUSTOM_DESERIALIZE,
+        /** XML mapper used by {@link in.zeta.qa.utils.fileUtils.XmlUtils}. */
+        XML
+    }
+
+    private static final Map<Profile, MapperHolder> HOLDERS = new EnumMap<>(Profile.class);
+
+    static {
+        HOLDERS.put(Profile.DEFAULT, new MapperHolder(createDefaultMapper()));
+        HOLDERS.put(Profile.CUSTOM_DESERIALIZE, new MapperHolder(createCustomDeserializeMapper()));
+        HOLDERS.put(Profile.XML, new MapperHolder(createXmlMapper()));
+    }
+
+    private ObjectMapperRegistry() {
+        // prevent instantiation
+    }
+
+    // ============================
+    // 🔹 Mapper Factories
+    // ============================
+
+    private static ObjectMapper createDefaultMapper() {
+        ObjectMapper mapper = new ObjectMapper();
+        mapper.configure(JsonParser.Feature.ALLOW_BACKSLASH_ESCAPING_ANY_CHARACTER, true);
+        mapper.configure(JsonParser.Feature.ALLOW_UNQUOTED_CONTROL_CHARS, true);
+        mapper.setVisibility(PropertyAccessor.FIELD, JsonAutoDetect.Visibility.ANY);
+        mapper.enable(DeserializationFeature.READ_UNKNOWN_ENUM_VALUES_AS_NULL);
+        mapper.enable(SerializationFeature.WRITE_EMPTY_JSON_ARRAYS);
+        mapper.registerModule(new JavaTimeModule());
+        return mapper;
+    }
+
+    private static ObjectMapper createCustomDeserializeMapper() {
+        ObjectMapper mapper = createDefaultMapper();
+        SimpleModule module = new SimpleModule();
+        module.addDeserializer(Map.class, new CustomIgnoreDeserializer());
+        mapper.registerModule(module);
+        return mapper;
+    }
+
+    private static XmlMapper createXmlMapper() {
+        XmlMapper mapper = new XmlMapper();
+        mapper.enable(SerializationFeature.INDENT_OUTPUT);
+        mapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+        mapper.setSerializationInclusion(JsonInclude.Include.NON_EMPTY);
+        mapper.setSerializationInclusion(JsonInclude.Include.NON_NULL);
+        mapper.configure(MapperFeature.ACCEPT_CASE_INSENSITIVE_PROPERTIES, true);
+        mapper.configure(ToXmlGenerator.Feature.WRITE_XML_DECLARATION, false);
+        mapper.setDefaultUseWrapper(false);
+        return mapper;
+    }
+
+    // ============================
+    // 🔹 Lookups
+    // ============================
+
+    public static ObjectMapper mapper(Profile profile) {
+        return HOLDERS.get(profile).mapper;
+    }
+
+    public static ObjectMapper defaultMapper() {
+        return mapper(Profile.DEFAULT);
+    }
+
+    public static XmlMapper xmlMapper() {
+        return (XmlMapper) mapper(Profile.XML);
+    }
+
+    public static ObjectReader reader(Profile profile, Class<?> type) {
+        MapperHolder holder = HOLDERS.get(profile);
+        return holder.reader(holder.mapper.constructType(type));
+    }
+
+    public static ObjectReader reader(Profile profile, TypeReference<?> typeReference) {
+        MapperHolder holder = HOLDERS.get(profile);
+        return holder.reader(holder.mapper.getTypeFactory().constructType(typeReference));
+    }
+
+    public static ObjectReader reader(Profile profile, JavaType type) {
+        return HOLDERS.get(profile).reader(type);
+    }
+
+    public static ObjectWriter writer(Profile profile) {
+        return HOLDERS.get(profile).writer;
+    }
+
+    public static ObjectWriter prettyWriter(Profile profile) {
+        return HOLDERS.get(profile).prettyWriter;
+    }
+
+    public static ObjectWriter writer(Profile profile, Class<?> type) {
+        MapperHolder holder = HOLDERS.get(profile);
+        return holder.typedWriters.computeIfAbsent(type, holder.mapper::writerFor);
+    }
+
+    /**
+     * One configured mapper and the immutable readers/writers derived from it.
+     */
+    private static final class MapperHolder {
+        private final ObjectMapper mapper;
+        private final ObjectWriter writer;
+        private final ObjectWriter prettyWriter;
+        private final Map<JavaType, ObjectReader> readers = new ConcurrentHashMap<>();
+        private final Map<Class<?>, ObjectWriter> typedWriters = new ConcurrentHashMap<>();
+
+        private MapperHolder(ObjectMapper mapper) {
+            this.mapper = mapper;
+            this.writer = mapper.writer();
+            this.prettyWriter = mapper.writerWithDefaultPrettyPrinter();
+        }
+
+        private ObjectReader reader(JavaType type) {
+            return readers.computeIfAbsent(type, mapper::readerFor);
+        }
+    }
+}
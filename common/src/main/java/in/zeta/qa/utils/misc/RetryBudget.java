@@ -0,0 +1,61 @@
+package in.zeta.qa.utils.misc;
+
+import in.zeta.qa.utils.fileUtils.PropertyFileReader;
+
+import java.net.URI;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-host token bucket bounding retries to a fraction of the traffic: every request to the host deposits
+ * {@code http.retry.budget.ratio} tokens (default 0.2), every retry withdraws one, and the bucket holds at most
+ * {@code http.retry.budget.maxTokens} (default 10, also the initial balance). Once a flapping host has drained it,
+ * failures are returned as they are instead of multiplying the load. Disable with
+ * {@code http.retry.budget.enabled=false}.
+ */
+final class RetryBudget {
+
+    private static final boolean ENABLED = PropertyFileReader.getBooleanSetting("http.retry.budget.enabled", true);
+    private static final double RATIO =
+            PropertyFileReader.getDoubleSetting("http.retry.budget.ratio", 0.2);
+    private static final double MAX_TOKENS =
+            PropertyFileReader.getDoubleSetting("http.retry.budget.maxTokens", 10);
+
+    private static final Map<String, RetryBudget> BY_HOST = new ConcurrentHashMap<>();
+    private static final Map<String, RetryBudget> BY_SERVER_URL = new ConcurrentHashMap<>();
+
+    private double tokens = MAX_TOKENS;
+
+    private RetryBudget() {
+    }
+
+    static RetryBudget forServer(String serverURL) {
+        if (serverURL == null) return BY_HOST.computeIfAbsent("", h -> new RetryBudget());
+        return BY_SERVER_URL.computeIfAbsent(serverURL,
+                url -> BY_HOST.computeIfAbsent(hostOf(url), h -> new RetryBudget()));
+    }
+
+    synchronized void deposit() {
+        tokens = Math.min(MAX_TOKENS, tokens + RATIO);
+    }
+
+    /**
+     * @return whether a retry may be sent; withdraws a token if so
+     */
+    synchronized boolean tryWithdraw() {
+        if (!ENABLED) return true;
+        if (tokens < 1) return false;
+        tokens -= 1;
+        return true;
+    }
+
+    private static String hostOf(String serverURL) {
+        try {
+            URI uri = URI.create(serverURL);
+            if (uri.getHost() != null) return uri.getHost() + ":" + uri.getPort();
+        } catch (IllegalArgumentException e) {
+            // not a URI, key by the raw value
+        }
+        return serverURL;
+    }
+}
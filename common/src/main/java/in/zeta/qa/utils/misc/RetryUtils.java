@@ -4,8 +4,11 @@ package in.zeta.qa.utils.misc;
 import in.zeta.qa.utils.exceptions.*;
 import in.zeta.qa.constants.anotation.RetryOnFailure;
 import in.zeta.qa.constants.anotation.Retryable;
+import in.zeta.qa.utils.rest.ApiRequest;
 import in.zeta.qa.utils.rest.ApiResponse;
-import io.restassured.response.Response;
+import in.zeta.qa.utils.rest.HttpExecutors;
+import in.zeta.qa.utils.rest.metrics.HttpMetrics;
+import in.zeta.qa.utils.rest.metrics.HttpMetrics.Counter;
 import lombok.SneakyThrows;
 import lombok.extern.log4j.Log4j2;
 import net.jodah.failsafe.Failsafe;
@@ -13,37 +16,102 @@ import net.jodah.failsafe.RetryPolicy;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.http.NoHttpResponseException;
 
+import java.lang.invoke.MethodType;
 import java.net.ConnectException;
 import java.net.SocketException;
 import java.time.Duration;
+import java.time.temporal.ChronoUnit;
 import java.util.Arrays;
+import java.util.Map;
 import java.util.Objects;
-import java.util.OptionalInt;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.IntStream;
 
+/**
+ * Retries API calls according to the {@link RetryOnFailure} annotation of the calling method (or its class).
+ * <p>
+ * The call-site is found with a {@link StackWalker} that stops at the first frame outside this class and
+ * {@link ApiRequest}; the annotation resolved for that method (or its absence) is cached per call-site, and the
+ * Failsafe {@link RetryPolicy} per annotation, so an API call pays for a short stack walk and two map lookups.
+ * <p>
+ * Delays are fixed or exponential with jitter, optionally bounded by a total duration (see {@link RetryOnFailure}),
+ * and retries to a host are capped by its {@link RetryBudget}.
+ */
 @Log4j2
 public class RetryUtils {
 
-    private static final String EXECUTE_WITH_RETRY = "executeWithRetry";
+    private static final StackWalker STACK_WALKER = StackWalker.getInstance(StackWalker.Option.RETAIN_CLASS_REFERENCE);
+    private static final Set<Class<?>> SKIPPED_FRAMES = Set.of(RetryUtils.class, ApiRequest.class);
+    private static final String FAILSAFE_PACKAGE = "net.jodah.failsafe.";
+
+    /** Per declaring class: method name + descriptor -> resolved annotation. */
+    private static final ClassValue<Map<String, Optional<RetryOnFailure>>> CALL_SITES = new ClassValue<>() {
+        @Override
+        protected Map<String, Optional<RetryOnFailure>> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+    private static final Map<RetryOnFailure, RetryPolicy<Object>> POLICIES = new ConcurrentHashMap<>();
 
     public RetryPolicy<Object> getDefaultRetryPolicy(int delayInSeconds, int maxRetries) {
-        return new RetryPolicy<>()
-                .handle(ConnectException.class)
-                .handle(SocketException.class)
-                .handle(NoHttpResponseException.class)
+        return handlingConnectionFailures(new RetryPolicy<>())
                 .withDelay(Duration.ofSeconds(delayInSeconds))
                 .withMaxRetries(maxRetries);
     }
 
 
-    @SneakyThrows
     public ApiResponse executeWithRetry(Retryable<ApiResponse> action) {
+        return executeWithRetry(null, action);
+    }
+
+    /**
+     * Executes {@code action}, retrying it as the calling method's {@link RetryOnFailure} says. When the request is
+     * given and a retry policy applies, its host's {@link RetryBudget} is charged and retries are counted per
+     * endpoint in {@link HttpMetrics}.
+     */
+    @SneakyThrows
+    public ApiResponse executeWithRetry(ApiRequest<?> request, Retryable<ApiResponse> action) {
+        RetryOnFailure retry = getCallingMethodRetryAnnotation();
+        if (Objects.isNull(retry)) {
+            return action.execute();
+        }
+        RetryBudget budget = chargeBudget(request);
+        Attempts attempts = new Attempts(request, retry);
+        try {
+            return Failsafe.with(retryPolicyFor(retry, attempts, budget)).get(() -> attempts.next(action));
+        } finally {
+            attempts.finish();
+        }
+    }
+
+    public CompletableFuture<ApiResponse> executeWithRetryAsync(Retryable<CompletableFuture<ApiResponse>> action) {
+        return executeWithRetryAsync(null, action);
+    }
+
+    /**
+     * Async counterpart of {@link #executeWithRetry(ApiRequest, Retryable)}: same {@link RetryOnFailure} semantics,
+     * but retry delays are scheduled on {@link HttpExecutors#scheduler()} instead of parking the calling thread.
+     * The annotation is resolved on the calling thread, before anything is handed off.
+     */
+    @SneakyThrows
+    public CompletableFuture<ApiResponse> executeWithRetryAsync(ApiRequest<?> request,
+                                                                Retryable<CompletableFuture<ApiResponse>> action) {
         RetryOnFailure retry = getCallingMethodRetryAnnotation();
         if (Objects.isNull(retry)) {
             return action.execute();
         }
-        log.error("Retrying API Call...");
-        return Failsafe.with(getRetryPolicyForErrorResponse(retry.delayInSeconds(), retry.count(), retry.statusCodes())).get(action::execute);
+        RetryBudget budget = chargeBudget(request);
+        Attempts attempts = new Attempts(request, retry);
+        CompletableFuture<ApiResponse> result = Failsafe.with(retryPolicyFor(retry, attempts, budget))
+                .with(HttpExecutors.scheduler())
+                .getStageAsync(() -> attempts.next(action));
+        result.whenComplete((response, error) -> attempts.finish());
+        return result;
     }
 
     @SneakyThrows
@@ -56,62 +124,144 @@ public class RetryUtils {
         return Failsafe.with(getRetryPolicyForMatchingStrNotFound(retry.delayInSeconds(), retry.count(), matchingStr)).get(action::execute);
     }
 
+    /**
+     * @return the {@link RetryOnFailure} of the first method on the stack outside the retry/request plumbing (method
+     * level takes precedence over class level), or {@code null} when there is none or the call is already running
+     * inside a retry
+     */
     public static RetryOnFailure getCallingMethodRetryAnnotation() {
-        StackTraceElement[] stackTrace = Thread.currentThread().getStackTrace();
-        // 0 - getStackTrace
-        // 1 - getCallingMethodRetryAnnotation
-        // 2 - executeWithRetry
-        // 3 - Caller API Method
-        OptionalInt executeWithRetryIndex = IntStream.range(0, stackTrace.length)
-                .filter(i -> stackTrace[i].getMethodName().contains(EXECUTE_WITH_RETRY)).findFirst();
-        try {
-            if (executeWithRetryIndex.isPresent()) {
-                StackTraceElement element = stackTrace[executeWithRetryIndex.getAsInt() + 1];
-                Class<?> clazz = Class.forName(element.getClassName());
-                log.info("API Call :: {}", element.getMethodName());
-                //METHOD LEVEL WILL BE PRECEDENCE
-                RetryOnFailure retryOnFailureApiMethod = Arrays.stream(clazz.getDeclaredMethods())
-                        .filter(method -> method.getName().equalsIgnoreCase(element.getMethodName())
-                                && method.isAnnotationPresent(RetryOnFailure.class))
-                        .findFirst().map(method -> method.getAnnotation(RetryOnFailure.class)).orElse(null);
-                if (retryOnFailureApiMethod == null && clazz.isAnnotationPresent(RetryOnFailure.class)) {
-                    return clazz.getAnnotation(RetryOnFailure.class);
-                }
-                return retryOnFailureApiMethod;
-            }
+        StackWalker.StackFrame caller = STACK_WALKER.walk(frames -> frames
+                .filter(frame -> !SKIPPED_FRAMES.contains(frame.getDeclaringClass().getNestHost()))
+                .findFirst()
+                .orElse(null));
+        if (caller == null || caller.getClassName().startsWith(FAILSAFE_PACKAGE)) {
+            return null;
+        }
+        return CALL_SITES.get(caller.getDeclaringClass())
+                .computeIfAbsent(caller.getMethodName() + caller.getDescriptor(), site -> resolve(caller))
+                .orElse(null);
+    }
 
-        } catch (ClassNotFoundException e) {
-            log.error("Failed find caller API method while retrying...");
-            e.printStackTrace();
+    private static Optional<RetryOnFailure> resolve(StackWalker.StackFrame caller) {
+        Class<?> clazz = caller.getDeclaringClass();
+        MethodType type = caller.getMethodType();
+        log.info("API Call :: {}", caller.getMethodName());
+        //METHOD LEVEL WILL BE PRECEDENCE
+        RetryOnFailure retryOnFailureApiMethod = Arrays.stream(clazz.getDeclaredMethods())
+                .filter(method -> method.getName().equals(caller.getMethodName())
+                        && method.getReturnType() == type.returnType()
+                        && Arrays.equals(method.getParameterTypes(), type.parameterArray()))
+                .findFirst().map(method -> method.getAnnotation(RetryOnFailure.class)).orElse(null);
+        if (retryOnFailureApiMethod == null) {
+            return Optional.ofNullable(clazz.getAnnotation(RetryOnFailure.class));
         }
-        return null;
+        return Optional.of(retryOnFailureApiMethod);
+    }
+
+    private static RetryBudget chargeBudget(ApiRequest<?> request) {
+        if (request == null) return null;
+        RetryBudget budget = RetryBudget.forServer(request.getServerURL());
+        budget.deposit();
+        return budget;
     }
 
-    private RetryPolicy<Object> getRetryPolicyForErrorResponse(int delayInSeconds, int maxRetries, int[] statusCodes) {
-        return getDefaultRetryPolicy(delayInSeconds, maxRetries)
-                .handleResultIf(response -> isExpectedResponse((ApiResponse) response, statusCodes)).handle(TachyonTestException.class);
+    /**
+     * The cached policy of the annotation; with a budget, a per-call copy that aborts once the budget is exhausted.
+     */
+    private RetryPolicy<Object> retryPolicyFor(RetryOnFailure retry, Attempts attempts, RetryBudget budget) {
+        RetryPolicy<Object> policy = POLICIES.computeIfAbsent(retry, this::getRetryPolicyForErrorResponse);
+        if (budget == null) return policy;
+        return policy.copy().abortIf((response, failure) -> attempts.isDenied(budget));
+    }
+
+    private RetryPolicy<Object> getRetryPolicyForErrorResponse(RetryOnFailure retry) {
+        RetryPolicy<Object> policy = handlingConnectionFailures(new RetryPolicy<>())
+                .withMaxRetries(retry.count())
+                .handleResultIf(response -> isExpectedResponse((ApiResponse) response, retry.statusCodes()))
+                .handle(TachyonTestException.class);
+        int delay = retry.delayInSeconds();
+        if (retry.backoffMultiplier() > 1 && delay > 0 && retry.maxDelayInSeconds() > delay) {
+            policy.withBackoff(delay, retry.maxDelayInSeconds(), ChronoUnit.SECONDS, retry.backoffMultiplier());
+        } else if (delay > 0) {
+            policy.withDelay(Duration.ofSeconds(delay));
+        }
+        if (retry.jitter() > 0) {
+            policy.withJitter(Math.min(1, retry.jitter()));
+        }
+        if (retry.maxDurationInSeconds() > delay) {
+            policy.withMaxDuration(Duration.ofSeconds(retry.maxDurationInSeconds()));
+        } else if (retry.maxDurationInSeconds() > 0) {
+            log.warn("Ignoring maxDurationInSeconds={} of {}: it must exceed delayInSeconds={} to allow any retry",
+                    retry.maxDurationInSeconds(), retry, delay);
+        }
+        return policy;
+    }
+
+    private static RetryPolicy<Object> handlingConnectionFailures(RetryPolicy<Object> policy) {
+        return policy
+                .handle(ConnectException.class)
+                .handle(SocketException.class)
+                .handle(NoHttpResponseException.class);
     }
 
     private boolean isExpectedResponse(ApiResponse response, int[] statusCodes) {
         if (statusCodes.length == 1 && statusCodes[0] == 0) {
-            return response.getStatusCode() < 100 && response.getStatusCode() >= 500;
+            return response.getStatusCode() < 100 || response.getStatusCode() >= 500;
         }
         return IntStream.of(statusCodes).anyMatch(code -> code == response.getStatusCode());
     }
 
     private RetryPolicy<Object> getRetryPolicyForMatchingStrNotFound(int delayInSeconds, int maxRetries, String title) {
         return getDefaultRetryPolicy(delayInSeconds, maxRetries).handleResultIf(response ->
-                isMatchingStringNotFound((Response) response, title)).handle(TachyonTestException.class);
+                isMatchingStringNotFound((ApiResponse) response, title)).handle(TachyonTestException.class);
     }
 
-    private boolean isMatchingStringNotFound(Response response, String title) {
+    private boolean isMatchingStringNotFound(ApiResponse response, String title) {
         if (StringUtils.isEmpty(title) || Objects.isNull(response)) {
             return false;
         }
-        return !response.body().asString().contains(title);
+        return !response.getBody().contains(title);
     }
 
+    /**
+     * Book-keeping of one retried call: counts attempts, reports retries and the time they cost to
+     * {@link HttpMetrics}, and decides whether the host's budget still allows another retry.
+     */
+    private static final class Attempts {
+        private final ApiRequest<?> request;
+        private final int maxRetries;
+        private final long startNanos = System.nanoTime();
+        private final AtomicInteger count = new AtomicInteger();
+        private volatile long lastAttemptNanos = startNanos;
+
+        private Attempts(ApiRequest<?> request, RetryOnFailure retry) {
+            this.request = request;
+            this.maxRetries = retry.count();
+        }
 
+        <T> T next(Retryable<T> action) throws Throwable {
+            int attempt = count.incrementAndGet();
+            if (attempt > 1) {
+                lastAttemptNanos = System.nanoTime();
+                log.error("Retrying API Call, attempt {}...", attempt);
+                if (request != null) HttpMetrics.increment(request, Counter.RETRIES);
+            }
+            return action.execute();
+        }
 
+        /** Called for a failed attempt: withdraws a token if another retry is due, aborts when there is none. */
+        boolean isDenied(RetryBudget budget) {
+            if (count.get() > maxRetries || budget.tryWithdraw()) return false;
+            log.warn("Retry budget exhausted for {}, not retrying", request.getServerURL());
+            HttpMetrics.increment(request, Counter.RETRIES_DENIED);
+            return true;
+        }
 
-}
\ No newline at end of file
+        void finish() {
+            if (request != null && count.get() > 1) {
+                HttpMetrics.add(request, Counter.RETRY_WASTED_MILLIS,
+                        TimeUnit.NANOSECONDS.toMillis(lastAttemptNanos - startNanos));
+            }
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package in.zeta.qa.utils.rest;
+
+import in.zeta.qa.utils.fileUtils.PropertyFileReader;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Single background thread rendering and writing Allure attachments, so that the test thread only pays for capturing
+ * what is to be attached.
+ * <p>
+ * The queue is bounded by {@code http.allure.queueSize} (default 256); when it is full the submitting thread writes
+ * the attachment itself, which throttles producers instead of buffering without limit. {@link #flush()} waits for
+ * the attachments submitted by the current thread, {@link #flushAll()} for everything submitted so far; both give
+ * up after {@code http.allure.flushTimeoutSeconds} (default 30).
+ */
+@Slf4j
+public final class AllureAttachmentWriter {
+
+    private static final int QUEUE_SIZE = PropertyFileReader.getIntSetting("http.allure.queueSize", 256);
+    private static final long FLUSH_TIMEOUT_SECONDS =
+            PropertyFileReader.getLongSetting("http.allure.flushTimeoutSeconds", 30);
+
+    private static final ThreadPoolExecutor WRITER = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(QUEUE_SIZE), HttpExecutors.daemonThreadFactory("allure-writer"),
+            new ThreadPoolExecutor.CallerRunsPolicy());
+
+    private static final ThreadLocal<List<Future<?>>> PENDING = ThreadLocal.withInitial(ArrayList::new);
+
+    /** Attachments submitted and not yet written, wherever they run; guarded by itself. */
+    private static final Object OUTSTANDING_LOCK = new Object();
+    private static long outstanding;
+
+    private AllureAttachmentWriter() {
+        // prevent instantiation
+    }
+
+    public static void submit(Runnable write) {
+        synchronized (OUTSTANDING_LOCK) {
+            outstanding++;
+        }
+        Future<?> future = WRITER.submit(() -> {
+            try {
+                write.run();
+            } catch (RuntimeException e) {
+                // reporting must never fail a test
+                log.warn("Unable to write Allure attachment: {}", e.getMessage(), e);
+            } finally {
+                synchronized (OUTSTANDING_LOCK) {
+                    if (--outstanding == 0) OUTSTANDING_LOCK.notifyAll();
+                }
+            }
+        });
+        PENDING.get().add(future);
+    }
+
+    /**
+     * Waits until the attachments submitted by the current thread are written.
+     */
+    public static void flush() {
+        List<Future<?>> pending = PENDING.get();
+        if (pending.isEmpty()) return;
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(FLUSH_TIMEOUT_SECONDS);
+        for (Future<?> future : pending) {
+            if (!await(future, deadline)) break;
+        }
+        pending.clear();
+    }
+
+    /**
+     * Waits until every attachment submitted so far, by any thread, is written.
+     */
+    public static void flushAll() {
+        // counted rather than queued behind: with a full queue, attachments also run on the submitting threads
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(FLUSH_TIMEOUT_SECONDS);
+        synchronized (OUTSTANDING_LOCK) {
+            while (outstanding > 0) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    log.warn("{} Allure attachments not written after {}s, giving up waiting", outstanding,
+                            FLUSH_TIMEOUT_SECONDS);
+                    break;
+                }
+                try {
+                    TimeUnit.NANOSECONDS.timedWait(OUTSTANDING_LOCK, remaining);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+        }
+        PENDING.get().clear();
+    }
+
+    private static boolean await(Future<?> future, long deadlineNanos) {
+        try {
+            future.get(Math.max(0, deadlineNanos - System.nanoTime()), TimeUnit.NANOSECONDS);
+            return true;
+        } catch (TimeoutException e) {
+            log.warn("Allure attachments not written after {}s, giving up waiting", FLUSH_TIMEOUT_SECONDS);
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (ExecutionException e) {
+            return true;   // already logged by the task
+        }
+    }
+}
@@ -8,8 +8,11 @@ import lombok.Builder;
 import lombok.Value;
 
 import java.io.File;
+import java.nio.file.Path;
+import java.time.Duration;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 @Builder(builderClassName = "ApiRequestBuilder", toBuilder = true)
 @Value
@@ -26,7 +29,7 @@ public class ApiRequest<T> {
 
     // HTTP Method & Headers
     HttpMethod method;
-    Map<String, String> headers;
+    Map<String, String> headers; // a HeaderSet (e.g. from HeaderFactory) is passed to the client without copying
     // Query parameters
     Map<String, Object> queryParams;
     // Body can be String (JSON, XML), POJO, Map etc.
@@ -37,6 +40,14 @@ public class ApiRequest<T> {
     String password;
     // For File Uploads
     List<File> files;
+    // Streamed multipart parts (files, streams, generated content) with their own names and content types
+    List<MultipartPart> parts;
+    // Notified while files/parts are uploaded
+    UploadProgress uploadProgress;
+    // For large downloads: stream the response body to this file instead of buffering it in memory
+    Path downloadTo;
+    // Timeout of the whole call, overrides http.requestTimeoutSeconds and the adaptive timeout
+    Duration timeout;
 
     public static class ApiRequestBuilder<T> {
         public ApiResponse execute() {
@@ -46,16 +57,39 @@ public class ApiRequest<T> {
         public <R> R execute(Class<R> responseClass) {
             return this.build().execute(responseClass);
         }
+
+        public CompletableFuture<ApiResponse> executeAsync() {
+            return this.build().executeAsync();
+        }
+
+        public <R> CompletableFuture<R> executeAsync(Class<R> responseClass) {
+            return this.build().executeAsync(responseClass);
+        }
     }
 
 
+    /**
+     * @return whether the request is sent as {@code multipart/form-data}, i.e. has files or parts
+     */
+    public boolean isMultipart() {
+        return (files != null && !files.isEmpty()) || (parts != null && !parts.isEmpty());
+    }
+
     public ApiResponse execute() {
-        return new RetryUtils().executeWithRetry(() -> client.getService().execute(this));
+        return new RetryUtils().executeWithRetry(this, () -> client.getPipeline().execute(this));
     }
 
     public <R> R execute(Class<R> responseClass) {
-        ApiResponse response = execute();
-        return new JsonHelper().getObjectFromString(response.getBody(), responseClass);
+        return new JsonHelper().getObjectFromResponse(execute(), responseClass);
+    }
+
+    public CompletableFuture<ApiResponse> executeAsync() {
+        return new RetryUtils().executeWithRetryAsync(this, () -> client.getPipeline().executeAsync(this));
+    }
+
+    public <R> CompletableFuture<R> executeAsync(Class<R> responseClass) {
+        return executeAsync()
+                .thenApply(response -> new JsonHelper().getObjectFromResponse(response, responseClass));
     }
 
 }
@@ -1,18 +1,260 @@
 package in.zeta.qa.utils.rest;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import in.zeta.qa.utils.misc.ObjectMapperRegistry;
+import in.zeta.qa.utils.misc.ObjectMapperRegistry.Profile;
+import in.zeta.qa.utils.rest.metrics.RequestTimings;
+import lombok.AccessLevel;
 import lombok.Builder;
 import lombok.Getter;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.List;
 import java.util.Map;
 
-@Builder
+/**
+ * Response returned by every {@link HttpClientService}.
+ * <p>
+ * The payload is held as the raw bytes (or as a file when {@link ApiRequest#getDownloadTo()} was set) together with
+ * its charset. The {@code String}, {@link JsonNode} and POJO views are only decoded on first access, POJOs are read
+ * straight from the bytes, and {@link #getBodyAsStream()} never copies the payload.
+ * <p>
+ * A body received gzip/deflate compressed (see {@link HttpCompression}) is kept compressed and inflated on first
+ * access; the stream and JSON views inflate while reading.
+ */
 @Getter
 public class ApiResponse {
 
     int statusCode;
     Map<String, List<String>> headers;
-    String body;
+    Charset charset;
+    /** Set when the body was streamed to disk instead of being buffered. */
+    Path bodyFile;
+    /** Per-phase latency of the call that produced this response, {@code null} if the client did not record it. */
+    RequestTimings timings;
+    /** {@code gzip}/{@code deflate} when the body was received compressed and is inflated lazily, else {@code null}. */
+    String contentEncoding;
 
+    @Getter(AccessLevel.NONE)
+    private final byte[] encodedBody;
+    @Getter(AccessLevel.NONE)
+    private volatile byte[] bodyBytes;
+    @Getter(AccessLevel.NONE)
+    private volatile String body;
+    @Getter(AccessLevel.NONE)
+    private volatile JsonNode jsonBody;
 
+    /**
+     * @param body      body as text, for callers that already have it decoded
+     * @param bodyBytes raw body as received on the wire
+     * @param charset   charset of the body, defaults to UTF-8
+     * @param bodyFile  file the body was streamed to
+     * @param timings         phase timings recorded by the client
+     * @param contentEncoding {@code Content-Encoding} of {@code bodyBytes} when the client did not inflate them
+     */
+    @Builder
+    private ApiResponse(int statusCode, Map<String, List<String>> headers, String body, byte[] bodyBytes,
+                        Charset charset, Path bodyFile, RequestTimings timings, String contentEncoding) {
+        this.statusCode = statusCode;
+        this.headers = headers;
+        this.charset = charset != null ? charset : StandardCharsets.UTF_8;
+        this.bodyFile = bodyFile;
+        this.timings = timings;
+        this.body = body;
+        this.contentEncoding = bodyBytes != null && bodyBytes.length > 0 ? HttpCompression.supported(contentEncoding) : null;
+        this.encodedBody = this.contentEncoding != null ? bodyBytes : null;
+        this.bodyBytes = this.contentEncoding != null ? null : bodyBytes;
+        if (body == null && bodyBytes == null && bodyFile == null) {
+            this.bodyBytes = new byte[0];
+        }
+    }
+
+    // ---------------------
+    // Body views
+    // ---------------------
+
+    /**
+     * @return body decoded with {@link #getCharset()}, decoded once and cached
+     */
+    public String getBody() {
+        String decoded = body;
+        if (decoded == null) {
+            decoded = bodyFile != null ? readFileAsString() : new String(getBodyBytes(), charset);
+            body = decoded;
+        }
+        return decoded;
+    }
+
+    /**
+     * @return raw body bytes; the returned array is shared and must not be modified
+     */
+    public byte[] getBodyBytes() {
+        byte[] bytes = bodyBytes;
+        if (bytes == null) {
+            if (encodedBody != null) {
+                bytes = HttpCompression.decode(contentEncoding, encodedBody);
+            } else {
+                bytes = bodyFile != null ? readFileAsBytes() : body.getBytes(charset);
+            }
+            bodyBytes = bytes;
+        }
+        return bytes;
+    }
+
+    /**
+     * @return size of the body as received, i.e. compressed if it was; {@code -1} when it was streamed to a file
+     */
+    public long getWireBodyLength() {
+        if (encodedBody != null) return encodedBody.length;
+        byte[] bytes = bodyBytes;
+        return bytes != null ? bytes.length : -1;
+    }
+
+    /**
+     * @return size of the (inflated) body without inflating it when avoidable; {@code -1} when streamed to a file
+     */
+    public long getBodyLength() {
+        byte[] bytes = bodyBytes;
+        if (bytes != null) return bytes.length;
+        return encodedBody != null ? HttpCompression.decodedLength(contentEncoding, encodedBody) : -1;
+    }
+
+    /**
+     * @return a stream over the body without copying it; for downloaded bodies the file is streamed from disk
+     */
+    public InputStream getBodyAsStream() {
+        if (bodyBytes == null && encodedBody != null) {
+            try {
+                return HttpCompression.decode(contentEncoding, new ByteArrayInputStream(encodedBody));
+            } catch (IOException e) {
+                throw new UncheckedIOException("Unable to decode " + contentEncoding + " response body", e);
+            }
+        }
+        if (bodyBytes == null && bodyFile != null) {
+            try {
+                return Files.newInputStream(bodyFile);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Unable to open response body file: " + bodyFile, e);
+            }
+        }
+        return new ByteArrayInputStream(getBodyBytes());
+    }
+
+    public JsonNode getBodyAsJsonNode() {
+        JsonNode node = jsonBody;
+        if (node == null) {
+            node = readTree();
+            jsonBody = node;
+        }
+        return node;
+    }
+
+    /**
+     * Deserializes the body straight from the raw bytes (or file) into the given type.
+     */
+    public <T> T getBodyAs(Class<T> type) {
+        return readJson(type);
+    }
+
+    public boolean isBodyEmpty() {
+        if (body != null) return body.isEmpty();
+        if (bodyBytes != null) return bodyBytes.length == 0;
+        if (encodedBody != null) return getBodyLength() == 0;
+        try {
+            return Files.size(bodyFile) == 0;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to read response body file: " + bodyFile, e);
+        }
+    }
+
+    /**
+     * @return first value of the given header (case-insensitive), or {@code null}
+     */
+    public String getHeader(String name) {
+        if (headers == null) return null;
+        for (var entry : headers.entrySet()) {
+            if (entry.getKey() != null && entry.getKey().equalsIgnoreCase(name)
+                    && entry.getValue() != null && !entry.getValue().isEmpty()) {
+                return entry.getValue().get(0);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Extracts the {@code charset} parameter of a {@code Content-Type} value.
+     *
+     * @return the declared charset, or UTF-8 when absent or unsupported
+     */
+    public static Charset charsetOf(String contentType) {
+        if (contentType == null) return StandardCharsets.UTF_8;
+        int idx = contentType.toLowerCase().indexOf("charset=");
+        if (idx < 0) return StandardCharsets.UTF_8;
+        String name = contentType.substring(idx + "charset=".length()).split(";", 2)[0].trim().replace("\"", "");
+        try {
+            return Charset.forName(name);
+        } catch (Exception e) {
+            return StandardCharsets.UTF_8;
+        }
+    }
+
+    private <T> T readJson(Class<T> type) {
+        try {
+            // Jackson auto-detects the UTF encodings, anything else has to be decoded first
+            if (!isUnicode(charset) || (bodyBytes == null && body != null)) {
+                return ObjectMapperRegistry.reader(Profile.DEFAULT, type).readValue(getBody());
+            }
+            if (bodyBytes == null) {
+                try (InputStream in = getBodyAsStream()) {
+                    return ObjectMapperRegistry.reader(Profile.DEFAULT, type).readValue(in);
+                }
+            }
+            return ObjectMapperRegistry.reader(Profile.DEFAULT, type).readValue(bodyBytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error deserializing response body to " + type.getSimpleName(), e);
+        }
+    }
+
+    private JsonNode readTree() {
+        try {
+            if (!isUnicode(charset) || (bodyBytes == null && body != null)) {
+                return ObjectMapperRegistry.defaultMapper().readTree(getBody());
+            }
+            if (bodyBytes == null) {
+                try (InputStream in = getBodyAsStream()) {
+                    return ObjectMapperRegistry.defaultMapper().readTree(in);
+                }
+            }
+            return ObjectMapperRegistry.defaultMapper().readTree(bodyBytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error parsing response body as JSON", e);
+        }
+    }
+
+    private static boolean isUnicode(Charset charset) {
+        return charset.name().toUpperCase().startsWith("UTF");
+    }
+
+    private String readFileAsString() {
+        try {
+            return Files.readString(bodyFile, charset);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to read response body file: " + bodyFile, e);
+        }
+    }
+
+    private byte[] readFileAsBytes() {
+        try {
+            return Files.readAllBytes(bodyFile);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to read response body file: " + bodyFile, e);
+        }
+    }
 }
@@ -1,6 +1,8 @@
 package in.zeta.qa.utils.rest;
 
+import in.zeta.qa.utils.rest.java_http.JavaHttpClientServiceImpl;
 import in.zeta.qa.utils.rest.ok_http.OkHttpServiceImpl;
+import in.zeta.qa.utils.rest.pipeline.HttpPipeline;
 import in.zeta.qa.utils.rest.rest_assured.RestAssuredSerenityServiceImpl;
 import in.zeta.qa.utils.rest.rest_assured.RestAssuredServiceImpl;
 
@@ -10,7 +12,8 @@ public enum ClientType {
 
     REST_ASSURED(RestAssuredServiceImpl::getInstance),
     OK_HTTP(OkHttpServiceImpl::getInstance),
-    REST_ASSURED_SERENITY(RestAssuredSerenityServiceImpl::getInstance);
+    REST_ASSURED_SERENITY(RestAssuredSerenityServiceImpl::getInstance),
+    JAVA_HTTP(JavaHttpClientServiceImpl::getInstance);
 
     private final Supplier<HttpClientService> supplier;
 
@@ -22,5 +25,12 @@ public enum ClientType {
         return supplier.get();
     }
 
+    /**
+     * @return the client wrapped in the shared {@link HttpPipeline} layers; this is what {@link ApiRequest} executes on
+     */
+    public HttpClientService getPipeline() {
+        return HttpPipeline.of(this);
+    }
+
 
 }
@@ -3,121 +3,106 @@ package in.zeta.qa.utils.rest;
 import com.github.benmanes.caffeine.cache.Cache;
 import com.github.benmanes.caffeine.cache.Caffeine;
 
-import java.util.Collections;
-import java.util.HashMap;
-import java.util.Map;
 import java.util.concurrent.TimeUnit;
 
+/**
+ * Reusable {@link HeaderSet}s. Static headers are constants; token based ones are cached per token (one cache per
+ * header combination, keyed by the token itself), so repeated calls with the same token return the same instance
+ * without building keys or maps, and clients convert each set to their native headers only once.
+ */
 public class HeaderFactory {
 
     private HeaderFactory() {} // prevent instantiation
 
     // ----------------------
-    // Caches
+    // Static headers
     // ----------------------
-    private static final Cache<String, Map<String, String>> headersCache = Caffeine.newBuilder()
-            .maximumSize(50)
-            .expireAfterAccess(15, TimeUnit.MINUTES)
-            .build();
-
-    private static final Cache<String, Map<String, String>> singleHeaderCache = Caffeine.newBuilder()
-            .maximumSize(50)
-            .expireAfterAccess(15, TimeUnit.MINUTES)
-            .build();
+    private static final HeaderSet CONTENT_TYPE_JSON = HeaderSet.of("Content-Type", "application/json");
+    private static final HeaderSet ACCEPT_JSON = HeaderSet.of("Accept", "application/json");
+    private static final HeaderSet CONTENT_TYPE_XML = HeaderSet.of("Content-Type", "application/xml");
+    private static final HeaderSet CONTENT_TYPE_FORM_BODY = HeaderSet.of("Content-Type", "application/x-www-form-urlencoded");
 
     // ----------------------
-    // Private helper methods
+    // Caches
     // ----------------------
-    private static Map<String, String> getOrCreateHeader(String key, String value) {
-        String cacheKey = key + "::" + value;
-        return singleHeaderCache.get(cacheKey, k -> Map.of(key, value));
-    }
+    private static final Cache<String, HeaderSet> AUTHORIZATION = newCache();
+    private static final Cache<String, HeaderSet> ZETA_API_TOKEN = newCache();
+    private static final Cache<String, HeaderSet> JWT = newCache();
+    private static final Cache<String, HeaderSet> USER_AGENT = newCache();
+    private static final Cache<String, HeaderSet> API_KEY = newCache();
+    private static final Cache<String, HeaderSet> AUTHORIZATION_WITH_JSON = newCache();
+    private static final Cache<String, HeaderSet> ZETA_API_TOKEN_WITH_JSON = newCache();
+    private static final Cache<String, HeaderSet> JWT_WITH_JSON = newCache();
+    private static final Cache<String, HeaderSet> USER_AGENT_WITH_JSON = newCache();
+    private static final Cache<String, HeaderSet> BASIC_AUTH_WITH_FORM_BODY = newCache();
 
-    @SafeVarargs
-    private static Map<String, String> getOrCreateHeaders(String cacheKey, Map<String, String>... headers) {
-        return headersCache.get(cacheKey, k -> {
-            Map<String, String> combined = new HashMap<>();
-            for (Map<String, String> h : headers) {
-                combined.putAll(h);
-            }
-            return Collections.unmodifiableMap(combined);
-        });
+    private static Cache<String, HeaderSet> newCache() {
+        return Caffeine.newBuilder()
+                .maximumSize(50)
+                .expireAfterAccess(15, TimeUnit.MINUTES)
+                .build();
     }
 
-
-    // ----------------------
-    // Static headers
-    // ----------------------
-    public static Map<String, String> contentTypeJson() {
-        return getOrCreateHeader("Content-Type", "application/json");
+    public static HeaderSet contentTypeJson() {
+        return CONTENT_TYPE_JSON;
     }
 
-    public static Map<String, String> acceptJson() {
-        return getOrCreateHeader("Accept", "application/json");
+    public static HeaderSet acceptJson() {
+        return ACCEPT_JSON;
     }
 
-    public static Map<String, String> contentTypeXml() {
-        return getOrCreateHeader("Content-Type", "application/xml");
+    public static HeaderSet contentTypeXml() {
+        return CONTENT_TYPE_XML;
     }
 
-    public static Map<String, String> contentTypeFormBody() {
-        return getOrCreateHeader("Content-Type", "application/x-www-form-urlencoded");
+    public static HeaderSet contentTypeFormBody() {
+        return CONTENT_TYPE_FORM_BODY;
     }
 
     // ----------------------
     // Dynamic headers
     // ----------------------
-    public static Map<String, String> authorization(String token) {
-        return getOrCreateHeader("Authorization", "Bearer " + token);
+    public static HeaderSet authorization(String token) {
+        return AUTHORIZATION.get(token, t -> HeaderSet.of("Authorization", "Bearer " + t));
     }
 
-    public static Map<String, String> zetaApiToken(String token) {
-        return getOrCreateHeader("X-Zeta-AuthToken", token);
+    public static HeaderSet zetaApiToken(String token) {
+        return ZETA_API_TOKEN.get(token, t -> HeaderSet.of("X-Zeta-AuthToken", t));
     }
 
-    public static Map<String, String> jwt(String token) {
-        return getOrCreateHeader("X-Jwt-AuthToken", token);
+    public static HeaderSet jwt(String token) {
+        return JWT.get(token, t -> HeaderSet.of("X-Jwt-AuthToken", t));
     }
 
-    public static Map<String, String> userAgent(String agent) {
-        return getOrCreateHeader("User-Agent", agent);
+    public static HeaderSet userAgent(String agent) {
+        return USER_AGENT.get(agent, a -> HeaderSet.of("User-Agent", a));
     }
 
-    public static Map<String, String> apiKey(String apiKey) {
-        return getOrCreateHeader("apiKey", apiKey);
+    public static HeaderSet apiKey(String apiKey) {
+        return API_KEY.get(apiKey, k -> HeaderSet.of("apiKey", k));
     }
 
     // ----------------------
     // Combined headers
     // ----------------------
-    public static Map<String, String> authorizationWithJson(String token) {
-        return getOrCreateHeaders("authorizationWithJson::" + token,
-                authorization(token),
-                contentTypeJson());
+    public static HeaderSet authorizationWithJson(String token) {
+        return AUTHORIZATION_WITH_JSON.get(token, t -> authorization(t).with(CONTENT_TYPE_JSON));
     }
 
-    public static Map<String, String> zetaApiTokenWithJson(String token) {
-        return getOrCreateHeaders("zetaApiTokenWithJson::" + token,
-                zetaApiToken(token),
-                contentTypeJson());
+    public static HeaderSet zetaApiTokenWithJson(String token) {
+        return ZETA_API_TOKEN_WITH_JSON.get(token, t -> zetaApiToken(t).with(CONTENT_TYPE_JSON));
     }
 
-    public static Map<String, String> jwtWithJson(String token) {
-        return getOrCreateHeaders("jwtWithJson::" + token,
-                jwt(token),
-                contentTypeJson());
+    public static HeaderSet jwtWithJson(String token) {
+        return JWT_WITH_JSON.get(token, t -> jwt(t).with(CONTENT_TYPE_JSON));
     }
 
-    public static Map<String, String> userAgentWithJson(String agent) {
-        return getOrCreateHeaders("userAgentWithJson::" + agent,
-                userAgent(agent),
-                contentTypeJson());
+    public static HeaderSet userAgentWithJson(String agent) {
+        return USER_AGENT_WITH_JSON.get(agent, a -> userAgent(a).with(CONTENT_TYPE_JSON));
     }
 
-    public static Map<String, String> basicAuthWithFormBody(String encoded) {
-        Map<String, String> authHeader = getOrCreateHeader("Authorization", "Basic " + encoded);
-        return getOrCreateHeaders("basicAuthWithFormBody::" + encoded,
-                authHeader,
-                contentTypeFormBody());
+    public static HeaderSet basicAuthWithFormBody(String encoded) {
+        return BASIC_AUTH_WITH_FORM_BODY.get(encoded,
+                e -> HeaderSet.of("Authorization", "Basic " + e).with(CONTENT_TYPE_FORM_BODY));
     }
 }
@@ -0,0 +1,118 @@
+package in.zeta.qa.utils.rest;
+
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * Immutable, precomposed set of request headers, meant to be built once (e.g. per token by {@link HeaderFactory})
+ * and reused for every request.
+ * <p>
+ * It is a read-only {@code Map<String, String>}, so it can be passed to {@link ApiRequest#getHeaders() headers}
+ * as-is. Clients convert it into their native header type through {@link #as(Function)}; the result is cached on
+ * the instance, so a reused set is converted only once per client. Header names are matched case-insensitively
+ * when sets are composed, the later value wins.
+ */
+public final class HeaderSet extends AbstractMap<String, String> {
+
+    public static final HeaderSet EMPTY = new HeaderSet(new String[0], new String[0]);
+
+    private final String[] names;
+    private final String[] values;
+    private final Set<Entry<String, String>> entries;
+    private final Map<Function<HeaderSet, ?>, Object> nativeForms = new ConcurrentHashMap<>(4);
+
+    private HeaderSet(String[] names, String[] values) {
+        this.names = names;
+        this.values = values;
+        Set<Entry<String, String>> set = new LinkedHashSet<>();
+        for (int i = 0; i < names.length; i++) set.add(Map.entry(names[i], values[i]));
+        this.entries = Collections.unmodifiableSet(set);
+    }
+
+    public static HeaderSet of(String name, String value) {
+        return new HeaderSet(new String[]{name}, new String[]{value});
+    }
+
+    public static HeaderSet of(Map<String, String> headers) {
+        if (headers instanceof HeaderSet set) return set;
+        HeaderSet result = EMPTY;
+        for (Entry<String, String> header : headers.entrySet()) result = result.with(header.getKey(), header.getValue());
+        return result;
+    }
+
+    /**
+     * @return a new set with the header added, replacing one of the same name
+     */
+    public HeaderSet with(String name, String value) {
+        return with(of(name, value));
+    }
+
+    /**
+     * @return a new set with all headers of {@code other} added, replacing those of the same name
+     */
+    public HeaderSet with(HeaderSet other) {
+        List<String> mergedNames = new ArrayList<>(names.length + other.names.length);
+        List<String> mergedValues = new ArrayList<>(names.length + other.names.length);
+        for (int i = 0; i < names.length; i++) {
+            if (other.indexOf(names[i]) < 0) {
+                mergedNames.add(names[i]);
+                mergedValues.add(values[i]);
+            }
+        }
+        Collections.addAll(mergedNames, other.names);
+        Collections.addAll(mergedValues, other.values);
+        return new HeaderSet(mergedNames.toArray(String[]::new), mergedValues.toArray(String[]::new));
+    }
+
+    /**
+     * @param converter a constant (static) conversion into a client's header type, it is also the cache key
+     * @return the converted headers, computed on first use and cached on this instance
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T as(Function<HeaderSet, T> converter) {
+        return (T) nativeForms.computeIfAbsent(converter, c -> c.apply(this));
+    }
+
+    @Override
+    public String get(Object name) {
+        for (int i = 0; i < names.length; i++) {
+            if (names[i].equals(name)) return values[i];
+        }
+        return null;
+    }
+
+    @Override
+    public boolean containsKey(Object name) {
+        return get(name) != null;
+    }
+
+    @Override
+    public int size() {
+        return names.length;
+    }
+
+    @Override
+    public void forEach(BiConsumer<? super String, ? super String> action) {
+        for (int i = 0; i < names.length; i++) action.accept(names[i], values[i]);
+    }
+
+    @Override
+    public Set<Entry<String, String>> entrySet() {
+        return entries;
+    }
+
+    private int indexOf(String name) {
+        for (int i = 0; i < names.length; i++) {
+            if (names[i].equalsIgnoreCase(name)) return i;
+        }
+        return -1;
+    }
+}
@@ -1,34 +1,36 @@
 package in.zeta.qa.utils.rest;
 
-import in.zeta.qa.constants.endpoints.ApiEndpoint;
 import java.util.Objects;
-import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 public interface HttpClientService {
 
     ApiResponse execute(ApiRequest<?> request);
 
-
-    default String buildUrl(ApiRequest<?> request) {
-        String base = Objects.requireNonNull(request.getServerURL(), "serverURL is required");
-
-
-        String pathTemplate = Optional.ofNullable(request.getEndpoint())
-                .map(ApiEndpoint::getPath).orElse("");
-
-        if (request.getPathParams() != null) {
-            for (var entry : request.getPathParams().entrySet()) {
-                pathTemplate = pathTemplate
-                        .replace("{" + entry.getKey() + "}", String.valueOf(entry.getValue()));
+    /**
+     * Executes the request without blocking the caller. Blocking clients run {@link #execute(ApiRequest)} on the
+     * bounded {@link HttpExecutors#blockingExecutor()}; clients with a native async API should override this.
+     * The future fails with the same exception {@code execute} would have thrown (not wrapped).
+     */
+    default CompletableFuture<ApiResponse> executeAsync(ApiRequest<?> request) {
+        CompletableFuture<ApiResponse> future = new CompletableFuture<>();
+        HttpExecutors.blockingExecutor().execute(() -> {
+            try {
+                future.complete(execute(request));
+            } catch (Throwable t) {
+                future.completeExceptionally(t);
             }
-        }
-
-        return stripTrailingSlash(base) + stripTrailingSlash(pathTemplate);
+        });
+        return future;
     }
 
-    private String stripTrailingSlash(String s) {
-        if (s == null) return null;
-        while (s.endsWith("/")) s = s.substring(0, s.length() - 1);
-        return s;
+
+    /**
+     * @return the full request URL: server URL, expanded endpoint template and encoded query parameters
+     * @see UrlTemplate
+     */
+    default String buildUrl(ApiRequest<?> request) {
+        String base = Objects.requireNonNull(request.getServerURL(), "serverURL is required");
+        return UrlTemplate.of(request.getEndpoint()).expand(base, request.getPathParams(), request.getQueryParams());
     }
 }
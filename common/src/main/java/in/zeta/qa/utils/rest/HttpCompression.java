@@ -0,0 +1,160 @@
+package in.zeta.qa.utils.rest;
+
+import in.zeta.qa.constants.anotation.CompressRequest;
+import in.zeta.qa.utils.fileUtils.PropertyFileReader;
+import in.zeta.qa.utils.rest.metrics.HttpMetrics;
+import in.zeta.qa.utils.rest.metrics.HttpMetrics.Counter;
+import in.zeta.qa.utils.rest.pipeline.EndpointAnnotations;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PushbackInputStream;
+import java.io.UncheckedIOException;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * gzip/deflate support shared by the clients.
+ * <ul>
+ *     <li>Responses: unless {@code http.compression.negotiate=false}, requests without their own
+ *     {@code Accept-Encoding} (and without {@code downloadTo}) ask for {@value #ACCEPT_ENCODING}. The compressed
+ *     bytes are kept in the {@link ApiResponse} and only inflated when the body is read, streaming when it is read
+ *     as a stream or as JSON.</li>
+ *     <li>Requests: bodies of endpoints annotated with {@link CompressRequest}, or of every endpoint when
+ *     {@code http.compression.requestMinBytes} is set, are gzipped once they reach the threshold.</li>
+ * </ul>
+ * Body sizes before and after compression are counted per endpoint ({@link Counter#RESPONSE_BYTES},
+ * {@link Counter#RESPONSE_WIRE_BYTES}, {@link Counter#REQUEST_BYTES}, {@link Counter#REQUEST_WIRE_BYTES}), for
+ * compressed and uncompressed bodies alike.
+ */
+public final class HttpCompression {
+
+    public static final String ACCEPT_ENCODING = "gzip, deflate";
+    public static final String GZIP = "gzip";
+    public static final String DEFLATE = "deflate";
+
+    private static final boolean NEGOTIATE = PropertyFileReader.getBooleanSetting("http.compression.negotiate", true);
+    private static final int REQUEST_MIN_BYTES = PropertyFileReader.getIntSetting("http.compression.requestMinBytes", -1);
+
+    private HttpCompression() {
+        // prevent instantiation
+    }
+
+    /**
+     * @return whether the client should send {@value #ACCEPT_ENCODING} and hand the compressed body to
+     * {@link ApiResponse}
+     */
+    public static boolean negotiates(ApiRequest<?> request) {
+        return NEGOTIATE && request.getDownloadTo() == null && header(request.getHeaders(), "Accept-Encoding") == null;
+    }
+
+    /**
+     * @return {@code gzip} or {@code deflate} when the {@code Content-Encoding} value is one this class decodes,
+     * otherwise {@code null}
+     */
+    public static String supported(String contentEncoding) {
+        if (contentEncoding == null) return null;
+        String encoding = contentEncoding.trim().toLowerCase();
+        return GZIP.equals(encoding) || "x-gzip".equals(encoding) ? GZIP : DEFLATE.equals(encoding) ? DEFLATE : null;
+    }
+
+    /**
+     * Serializes the request body once for sending and gzips it when compression applies and the body reaches the
+     * threshold. The size before and after is counted for every body.
+     *
+     * @return {@code null} for requests without a body or sending form params or multipart parts instead
+     */
+    public static EncodedBody encodeBody(ApiRequest<?> request, String contentType) {
+        if (request.getBody() == null || request.isMultipart()
+                || (request.getFormParams() != null && !request.getFormParams().isEmpty())) return null;
+        byte[] body = RequestBodySerializer.toBytes(request.getBody(), RequestBodySerializer.isXml(contentType));
+        CompressRequest annotation = EndpointAnnotations.get(request.getEndpoint(), CompressRequest.class);
+        int minBytes = annotation != null ? annotation.minBytes() : REQUEST_MIN_BYTES;
+        byte[] wire = minBytes >= 0 && body.length >= minBytes ? gzip(body) : body;
+        HttpMetrics.add(request, Counter.REQUEST_BYTES, body.length);
+        HttpMetrics.add(request, Counter.REQUEST_WIRE_BYTES, wire.length);
+        return new EncodedBody(wire, wire != body);
+    }
+
+    public static byte[] gzip(byte[] bytes) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, bytes.length / 4));
+        try (OutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(bytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * @return a stream inflating {@code in} as it is read
+     */
+    public static InputStream decode(String encoding, InputStream in) throws IOException {
+        if (GZIP.equals(encoding)) return new GZIPInputStream(in, 8192);
+        // "deflate" is specified as zlib-wrapped, some servers send a raw deflate stream
+        PushbackInputStream pushback = new PushbackInputStream(in, 2);
+        int first = pushback.read();
+        int second = pushback.read();
+        if (second >= 0) pushback.unread(second);
+        if (first >= 0) pushback.unread(first);
+        boolean zlib = first >= 0 && second >= 0 && (first & 0x0F) == 8 && ((first << 8) | second) % 31 == 0;
+        return new InflaterInputStream(pushback, new Inflater(!zlib), 8192);
+    }
+
+    public static byte[] decode(String encoding, byte[] bytes) {
+        try (InputStream in = decode(encoding, new ByteArrayInputStream(bytes))) {
+            return in.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to decode " + encoding + " response body", e);
+        }
+    }
+
+    /**
+     * @return the inflated size; read from the gzip trailer without inflating, deflate streams are inflated and
+     * discarded
+     */
+    public static long decodedLength(String encoding, byte[] bytes) {
+        if (GZIP.equals(encoding) && bytes.length >= 18) {   // 10 header + 8 trailer bytes
+            int n = bytes.length;
+            return (bytes[n - 4] & 0xFFL) | (bytes[n - 3] & 0xFFL) << 8 | (bytes[n - 2] & 0xFFL) << 16
+                    | (bytes[n - 1] & 0xFFL) << 24;   // ISIZE: size mod 2^32, fine for response bodies
+        }
+        try (InputStream in = decode(encoding, new ByteArrayInputStream(bytes))) {
+            return in.transferTo(OutputStream.nullOutputStream());
+        } catch (IOException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * Counts the body sizes of a response whose bytes are in memory. Responses inflated by the client library
+     * itself (RestAssured) are skipped: their size on the wire is not known.
+     */
+    public static void record(ApiRequest<?> request, ApiResponse response) {
+        long wire = response.getWireBodyLength();
+        if (wire < 0) return;
+        if (response.getContentEncoding() == null && supported(response.getHeader("Content-Encoding")) != null) return;
+        HttpMetrics.add(request, Counter.RESPONSE_WIRE_BYTES, wire);
+        HttpMetrics.add(request, Counter.RESPONSE_BYTES, response.getBodyLength());
+    }
+
+    private static String header(Map<String, String> headers, String name) {
+        if (headers == null) return null;
+        for (var e : headers.entrySet()) {
+            if (e.getKey() != null && e.getKey().equalsIgnoreCase(name)) return e.getValue();
+        }
+        return null;
+    }
+
+    /**
+     * A request body as it goes on the wire, gzipped when {@code gzipped} (send {@code Content-Encoding: gzip}).
+     */
+    public record EncodedBody(byte[] bytes, boolean gzipped) {
+    }
+}
@@ -0,0 +1,68 @@
+package in.zeta.qa.utils.rest;
+
+import in.zeta.qa.utils.fileUtils.PropertyFileReader;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Shared executors for the asynchronous HTTP path.
+ * <ul>
+ *     <li>{@link #blockingExecutor()} - bounded pool used to run blocking clients (RestAssured) off the caller thread.
+ *     When both the pool and its queue are full the caller runs the request itself, which throttles producers.</li>
+ *     <li>{@link #scheduler()} - small scheduler used for retry delays, so waiting never parks a request thread.</li>
+ *     <li>{@link #dispatcher()} - unbounded pool sending requests whose delay elapsed on the scheduler, so a blocking
+ *     call (e.g. run by the caller of a saturated {@link #blockingExecutor()}) never holds up the scheduler's timers.</li>
+ * </ul>
+ * Sizes are read from {@code http.async.maxThreads}, {@code http.async.queueSize} and {@code http.scheduler.threads}.
+ */
+public final class HttpExecutors {
+
+    private static final int MAX_THREADS = PropertyFileReader.getIntSetting("http.async.maxThreads", 32);
+    private static final int QUEUE_SIZE = PropertyFileReader.getIntSetting("http.async.queueSize", 1000);
+    private static final int SCHEDULER_THREADS = PropertyFileReader.getIntSetting("http.scheduler.threads", 2);
+
+    private static final ExecutorService BLOCKING_EXECUTOR = createBlockingExecutor();
+    private static final ScheduledExecutorService SCHEDULER =
+            Executors.newScheduledThreadPool(SCHEDULER_THREADS, daemonThreadFactory("http-scheduler"));
+    private static final ExecutorService DISPATCHER = Executors.newCachedThreadPool(daemonThreadFactory("http-dispatch"));
+
+    private HttpExecutors() {
+        // prevent instantiation
+    }
+
+    public static ExecutorService blockingExecutor() {
+        return BLOCKING_EXECUTOR;
+    }
+
+    public static ScheduledExecutorService scheduler() {
+        return SCHEDULER;
+    }
+
+    public static ExecutorService dispatcher() {
+        return DISPATCHER;
+    }
+
+    private static ExecutorService createBlockingExecutor() {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(MAX_THREADS, MAX_THREADS, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(QUEUE_SIZE), daemonThreadFactory("http-async"),
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    public static ThreadFactory daemonThreadFactory(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,29 @@
+package in.zeta.qa.utils.rest;
+
+import in.zeta.qa.utils.fileUtils.PropertyFileReader;
+
+import java.time.Duration;
+
+/**
+ * Connection pool and concurrency limits shared by the pooled clients (OkHttp, RestAssured):
+ * <ul>
+ *     <li>{@code http.pool.maxConnections} (default 64) - pooled connections kept across all hosts</li>
+ *     <li>{@code http.pool.keepAliveSeconds} (default 300) - how long a pooled connection may be reused</li>
+ *     <li>{@code http.pool.maxRequests} (default 256) - concurrent requests across all hosts</li>
+ *     <li>{@code http.pool.maxRequestsPerHost} (default 64) - concurrent requests to a single host</li>
+ * </ul>
+ * The library defaults (OkHttp: 5 idle connections, 5 requests per host) serialize parallel suites against one host.
+ */
+public final class HttpPoolSettings {
+
+    public static final int MAX_CONNECTIONS = PropertyFileReader.getIntSetting("http.pool.maxConnections", 64);
+    public static final Duration KEEP_ALIVE =
+            Duration.ofSeconds(PropertyFileReader.getLongSetting("http.pool.keepAliveSeconds", 300));
+    public static final int MAX_REQUESTS = PropertyFileReader.getIntSetting("http.pool.maxRequests", 256);
+    public static final int MAX_REQUESTS_PER_HOST =
+            PropertyFileReader.getIntSetting("http.pool.maxRequestsPerHost", 64);
+
+    private HttpPoolSettings() {
+        // prevent instantiation
+    }
+}
@@ -0,0 +1,26 @@
+package in.zeta.qa.utils.rest;
+
+import in.zeta.qa.utils.fileUtils.PropertyFileReader;
+
+import java.time.Duration;
+
+/**
+ * Client-independent timeouts: {@code http.connectTimeoutSeconds} (default 20) for establishing a connection and
+ * {@code http.requestTimeoutSeconds} (default 60) for a whole call, unless the request carries its own
+ * {@link ApiRequest#getTimeout() timeout} (set explicitly or by the adaptive timeout layer).
+ */
+public final class HttpTimeouts {
+
+    public static final Duration CONNECT =
+            Duration.ofSeconds(PropertyFileReader.getLongSetting("http.connectTimeoutSeconds", 20));
+    public static final Duration REQUEST =
+            Duration.ofSeconds(PropertyFileReader.getLongSetting("http.requestTimeoutSeconds", 60));
+
+    private HttpTimeouts() {
+        // prevent instantiation
+    }
+
+    public static Duration of(ApiRequest<?> request) {
+        return request.getTimeout() != null ? request.getTimeout() : REQUEST;
+    }
+}
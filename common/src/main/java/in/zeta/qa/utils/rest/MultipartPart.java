@@ -0,0 +1,92 @@
+package in.zeta.qa.utils.rest;
+
+import lombok.Getter;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * One part of a streamed multipart upload, see {@link ApiRequest#getParts()}.
+ * <p>
+ * File and stream parts are read while the request is written, never buffered, so their size does not matter.
+ * Parts with a declared length let the whole body go out with a {@code Content-Length}; a single part of unknown
+ * length ({@code -1}) makes the upload chunked. A part producing more or fewer bytes than declared fails the upload.
+ */
+@Getter
+public final class MultipartPart {
+
+    /**
+     * Opens the part's content; called once per attempt, so retried requests get a fresh stream.
+     */
+    @FunctionalInterface
+    public interface Content {
+        InputStream open() throws IOException;
+    }
+
+    private final String name;
+    /** {@code null} for plain form fields */
+    private final String fileName;
+    /** {@code null} for plain form fields */
+    private final String contentType;
+    /** Bytes the content yields, {@code -1} when unknown. */
+    private final long length;
+    private final Content content;
+    /** Value of a plain form field, {@code null} for content parts */
+    private final String text;
+
+    private MultipartPart(String name, String fileName, String contentType, long length, Content content, String text) {
+        this.name = name;
+        this.fileName = fileName;
+        this.contentType = contentType;
+        this.length = length;
+        this.content = content;
+        this.text = text;
+    }
+
+    public static MultipartPart text(String name, String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        return new MultipartPart(name, null, null, bytes.length, () -> new ByteArrayInputStream(bytes), value);
+    }
+
+    public static MultipartPart file(String name, Path file) {
+        return file(name, file, "application/octet-stream");
+    }
+
+    public static MultipartPart file(String name, Path file, String contentType) {
+        try {
+            return new MultipartPart(name, file.getFileName().toString(), contentType, Files.size(file),
+                    () -> Files.newInputStream(file), null);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Unable to read multipart file: " + file, e);
+        }
+    }
+
+    /**
+     * Content produced on demand, e.g. a generated settlement file; {@code content} is opened again for every attempt.
+     */
+    public static MultipartPart generated(String name, String fileName, String contentType, long length, Content content) {
+        return new MultipartPart(name, fileName, contentType, length, content, null);
+    }
+
+    /**
+     * Content of an already open stream. It can only be sent once: a retried or hedged request fails.
+     */
+    public static MultipartPart stream(String name, String fileName, String contentType, long length, InputStream in) {
+        AtomicBoolean consumed = new AtomicBoolean();
+        return new MultipartPart(name, fileName, contentType, length, () -> {
+            if (consumed.getAndSet(true)) {
+                throw new IOException("Multipart stream '" + name + "' was already sent and cannot be re-read");
+            }
+            return in;
+        }, null);
+    }
+
+    public boolean isField() {
+        return text != null;
+    }
+}
@@ -0,0 +1,220 @@
+package in.zeta.qa.utils.rest;
+
+import in.zeta.qa.utils.fileUtils.PropertyFileReader;
+import in.zeta.qa.utils.rest.metrics.HttpMetrics;
+import in.zeta.qa.utils.rest.metrics.HttpMetrics.Counter;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * One attempt of a {@code multipart/form-data} request, shared by all clients: the form params, legacy
+ * {@link ApiRequest#getFiles() files} (sent as {@code file} parts) and {@link ApiRequest#getParts() parts}, framed
+ * as a stream that opens each part only when the client gets to it.
+ * <p>
+ * File, stream and generated content is counted as it is read (form fields are not):
+ * {@link ApiRequest#getUploadProgress()} is notified, and once every such part is sent the bytes and the time taken are added to the endpoint's {@link Counter#UPLOADED_BYTES} and
+ * {@link Counter#UPLOAD_MILLIS}.
+ */
+@Slf4j
+public final class MultipartUpload {
+
+    private static final long PROGRESS_BYTES = PropertyFileReader.getLongSetting("http.upload.progressBytes", 1 << 20);
+    private static final byte[] CRLF = "\r\n".getBytes(StandardCharsets.US_ASCII);
+
+    private final ApiRequest<?> request;
+    @Getter
+    private final List<MultipartPart> parts;
+    @Getter
+    private final String boundary = "----" + UUID.randomUUID();
+
+    private long sentBytes;
+    private long reportedBytes;
+    private long startNanos;
+    private int finishedParts;
+
+    private final int contentParts;
+
+    private MultipartUpload(ApiRequest<?> request, List<MultipartPart> parts) {
+        this.request = request;
+        this.parts = parts;
+        this.contentParts = (int) parts.stream().filter(part -> !part.isField()).count();
+    }
+
+    /**
+     * @return the upload of the request, or {@code null} when it has neither files nor parts
+     */
+    public static MultipartUpload of(ApiRequest<?> request) {
+        if (!request.isMultipart()) return null;
+
+        List<MultipartPart> parts = new ArrayList<>();
+        if (request.getFormParams() != null) {
+            request.getFormParams().forEach((k, v) -> parts.add(MultipartPart.text(k, v == null ? "" : String.valueOf(v))));
+        }
+        // a Map body is sent as extra form fields
+        if (request.getBody() instanceof Map<?, ?> mapBody) {
+            mapBody.forEach((k, v) -> {
+                if (k != null) parts.add(MultipartPart.text(String.valueOf(k), v == null ? "" : String.valueOf(v)));
+            });
+        }
+        if (request.getFiles() != null) {
+            for (File file : request.getFiles()) {
+                if (file != null) parts.add(MultipartPart.file("file", file.toPath()));
+            }
+        }
+        if (request.getParts() != null) parts.addAll(request.getParts());
+        return new MultipartUpload(request, parts);
+    }
+
+    public String getContentType() {
+        return "multipart/form-data; boundary=" + boundary;
+    }
+
+    /**
+     * @return the exact size of the framed body, or {@code -1} (send chunked) when a part's length is unknown
+     */
+    public long contentLength() {
+        long length = closing().length;
+        for (MultipartPart part : parts) {
+            if (part.getLength() < 0) return -1;
+            length += header(part).length + part.getLength() + CRLF.length;
+        }
+        return length;
+    }
+
+    /**
+     * @return the framed body; parts are opened lazily, one after the other
+     */
+    public InputStream openStream() {
+        List<MultipartPart.Content> chunks = new ArrayList<>(parts.size() * 3 + 1);
+        for (MultipartPart part : parts) {
+            byte[] header = header(part);
+            chunks.add(() -> new ByteArrayInputStream(header));
+            chunks.add(part.isField() ? part.getContent() : () -> openPart(part));
+            chunks.add(() -> new ByteArrayInputStream(CRLF));
+        }
+        byte[] closing = closing();
+        chunks.add(() -> new ByteArrayInputStream(closing));
+
+        Iterator<MultipartPart.Content> remaining = chunks.iterator();
+        return new SequenceInputStream(new Enumeration<>() {
+            @Override
+            public boolean hasMoreElements() {
+                return remaining.hasNext();
+            }
+
+            @Override
+            public InputStream nextElement() {
+                try {
+                    return remaining.next().open();
+                } catch (IOException e) {
+                    throw new UncheckedIOException("Unable to open multipart content", e);
+                }
+            }
+        });
+    }
+
+    /**
+     * @return the content of a file/stream part, counted towards progress and metrics; for clients framing the
+     * parts themselves
+     */
+    public InputStream openPart(MultipartPart part) throws IOException {
+        return new CountingInputStream(part, part.getContent().open());
+    }
+
+    private byte[] header(MultipartPart part) {
+        StringBuilder header = new StringBuilder("--").append(boundary).append("\r\n")
+                .append("Content-Disposition: form-data; name=\"").append(part.getName()).append('"');
+        if (part.getFileName() != null) header.append("; filename=\"").append(part.getFileName()).append('"');
+        header.append("\r\n");
+        if (part.getContentType() != null) header.append("Content-Type: ").append(part.getContentType()).append("\r\n");
+        return header.append("\r\n").toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private byte[] closing() {
+        return ("--" + boundary + "--\r\n").getBytes(StandardCharsets.US_ASCII);
+    }
+
+    private long declaredBytes() {
+        long total = 0;
+        for (MultipartPart part : parts) {
+            if (part.isField()) continue;
+            if (part.getLength() < 0) return -1;
+            total += part.getLength();
+        }
+        return total;
+    }
+
+    private synchronized void onRead(long bytes) {
+        if (startNanos == 0) startNanos = System.nanoTime();
+        sentBytes += bytes;
+        if (request.getUploadProgress() != null && sentBytes - reportedBytes >= PROGRESS_BYTES) {
+            reportedBytes = sentBytes;
+            request.getUploadProgress().onProgress(sentBytes, declaredBytes());
+        }
+    }
+
+    private synchronized void onPartSent() {
+        if (++finishedParts < contentParts) return;
+        long millis = startNanos == 0 ? 0 : (System.nanoTime() - startNanos) / 1_000_000;
+        if (request.getUploadProgress() != null) request.getUploadProgress().onProgress(sentBytes, declaredBytes());
+        HttpMetrics.add(request, Counter.UPLOADED_BYTES, sentBytes);
+        HttpMetrics.add(request, Counter.UPLOAD_MILLIS, millis);
+        log.debug("Uploaded {} bytes in {} parts to {} in {} ms ({} KiB/s)", sentBytes, contentParts,
+                HttpMetrics.keyOf(request.getEndpoint()), millis, millis == 0 ? "-" : sentBytes * 1000 / 1024 / millis);
+    }
+
+    /** Counts a part's bytes and checks them against the declared length. */
+    private final class CountingInputStream extends FilterInputStream {
+        private final MultipartPart part;
+        private long read;
+        private boolean done;
+
+        private CountingInputStream(MultipartPart part, InputStream in) {
+            super(in);
+            this.part = part;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            count(b < 0 ? -1 : 1);
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int n = super.read(buffer, offset, length);
+            count(n);
+            return n;
+        }
+
+        private void count(int n) throws IOException {
+            if (n > 0) {
+                read += n;
+                onRead(n);
+            } else if (n < 0 && !done) {
+                done = true;
+                if (part.getLength() >= 0 && read != part.getLength()) {
+                    throw new IOException("Multipart part '" + part.getName() + "' declared " + part.getLength()
+                            + " bytes but produced " + read);
+                }
+                onPartSent();
+            }
+        }
+    }
+}
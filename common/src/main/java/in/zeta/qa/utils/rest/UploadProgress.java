@@ -0,0 +1,15 @@
+package in.zeta.qa.utils.rest;
+
+/**
+ * Progress callback of a multipart upload, see {@link ApiRequest#getUploadProgress()}. Called on the thread writing
+ * the request about every {@code http.upload.progressBytes} (default 1 MiB) and once when all parts are sent.
+ */
+@FunctionalInterface
+public interface UploadProgress {
+
+    /**
+     * @param sentBytes  part content sent so far in this attempt (multipart framing excluded)
+     * @param totalBytes declared content length of all parts, {@code -1} when a part's length is unknown
+     */
+    void onProgress(long sentBytes, long totalBytes);
+}
@@ -0,0 +1,186 @@
+package in.zeta.qa.utils.rest;
+
+import in.zeta.qa.constants.endpoints.ApiEndpoint;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Pre-parsed form of an {@link ApiEndpoint#getPath()} template such as {@code /job/{PATH}/api/json?token={TOKEN}}.
+ * <p>
+ * Templates are compiled once per distinct path (i.e. once per endpoint enum constant) and cached; expanding one is
+ * a single pass over the precomputed literal/placeholder segments into a pre-sized builder. Encoding rules:
+ * <ul>
+ *     <li>path placeholder values keep {@code /} (callers pass nested job paths) and already valid {@code %XX}
+ *     escapes; everything else outside the RFC 3986 path characters is percent-encoded as UTF-8</li>
+ *     <li>query placeholder values and {@link ApiRequest#getQueryParams()} additionally encode {@code & = + #}</li>
+ *     <li>placeholders without a value are left as {@code {name}}, {@code null} values expand to {@code "null"}</li>
+ *     <li>trailing slashes of the base URL and of the expanded path are dropped</li>
+ * </ul>
+ */
+public final class UrlTemplate {
+
+    private static final Map<String, UrlTemplate> CACHE = new ConcurrentHashMap<>();
+
+    private static final boolean[] PATH = allowed("-._~" + "!$&'()*+,;=" + ":@/");
+    private static final boolean[] QUERY_VALUE = allowed("-._~" + "!$'()*,;" + ":@/?");
+    private static final boolean[] QUERY_LITERAL = allowed("-._~" + "!$'()*,;" + ":@/?" + "&=+");
+    private static final char[] HEX = "0123456789ABCDEF".toCharArray();
+    private static final UrlTemplate EMPTY = new UrlTemplate("");
+
+    private final Segments path;
+    private final Segments query;   // null when the template has no query part
+    private final int estimatedLength;
+
+    private UrlTemplate(String template) {
+        int queryStart = template.indexOf('?');
+        this.path = Segments.parse(queryStart < 0 ? template : template.substring(0, queryStart), PATH);
+        this.query = queryStart < 0 || queryStart == template.length() - 1
+                ? null : Segments.parse(template.substring(queryStart + 1), QUERY_LITERAL);
+        this.estimatedLength = path.estimatedLength() + (query == null ? 0 : query.estimatedLength() + 1);
+    }
+
+    public static UrlTemplate of(ApiEndpoint endpoint) {
+        return endpoint == null ? EMPTY : compile(endpoint.getPath());
+    }
+
+    public static UrlTemplate compile(String template) {
+        return template == null || template.isEmpty() ? EMPTY : CACHE.computeIfAbsent(template, UrlTemplate::new);
+    }
+
+    /**
+     * @return {@code baseUrl} + expanded path + template query + encoded {@code queryParams}
+     */
+    public String expand(String baseUrl, Map<String, ?> pathParams, Map<String, ?> queryParams) {
+        int baseLength = baseUrl.length();
+        while (baseLength > 0 && baseUrl.charAt(baseLength - 1) == '/') baseLength--;
+
+        StringBuilder url = new StringBuilder(baseLength + estimatedLength
+                + (queryParams == null ? 0 : queryParams.size() * 24));
+        url.append(baseUrl, 0, baseLength);
+        path.appendTo(url, pathParams, PATH);
+        while (url.length() > baseLength && url.charAt(url.length() - 1) == '/') url.setLength(url.length() - 1);
+
+        boolean hasQuery = query != null;
+        if (hasQuery) {
+            url.append('?');
+            query.appendTo(url, pathParams, QUERY_VALUE);
+        }
+        if (queryParams != null) {
+            for (var entry : queryParams.entrySet()) {
+                url.append(hasQuery ? '&' : '?');
+                hasQuery = true;
+                encode(url, entry.getKey(), QUERY_VALUE);
+                if (entry.getValue() != null) {
+                    url.append('=');
+                    encode(url, String.valueOf(entry.getValue()), QUERY_VALUE);
+                }
+            }
+        }
+        return url.toString();
+    }
+
+    /**
+     * Percent-encodes a single query or form component ({@code & = + #} included).
+     */
+    public static String encodeQueryComponent(String value) {
+        StringBuilder out = new StringBuilder(value.length() + 8);
+        encode(out, value, QUERY_VALUE);
+        return out.toString();
+    }
+
+    // ---------------------
+    // Segments
+    // ---------------------
+
+    /**
+     * {@code literals[i]} precedes placeholder {@code names[i]}; the last literal trails the last placeholder.
+     * Literals are encoded once at compile time.
+     */
+    private record Segments(String[] literals, String[] names) {
+
+        static Segments parse(String template, boolean[] literalAllowed) {
+            List<String> literals = new ArrayList<>();
+            List<String> names = new ArrayList<>();
+            StringBuilder literal = new StringBuilder();
+            int i = 0;
+            while (i < template.length()) {
+                int open = template.indexOf('{', i);
+                int close = open < 0 ? -1 : template.indexOf('}', open + 1);
+                if (close < 0) {
+                    encode(literal, template.substring(i), literalAllowed);
+                    break;
+                }
+                encode(literal, template.substring(i, open), literalAllowed);
+                literals.add(literal.toString());
+                literal.setLength(0);
+                names.add(template.substring(open + 1, close));
+                i = close + 1;
+            }
+            literals.add(literal.toString());
+            return new Segments(literals.toArray(new String[0]), names.toArray(new String[0]));
+        }
+
+        void appendTo(StringBuilder url, Map<String, ?> params, boolean[] valueAllowed) {
+            for (int i = 0; i < names.length; i++) {
+                url.append(literals[i]);
+                if (params != null && params.containsKey(names[i])) {
+                    encode(url, String.valueOf(params.get(names[i])), valueAllowed);
+                } else {
+                    url.append('{').append(names[i]).append('}');
+                }
+            }
+            url.append(literals[names.length]);
+        }
+
+        int estimatedLength() {
+            int length = 0;
+            for (String literal : literals) length += literal.length();
+            return length + names.length * 16;
+        }
+    }
+
+    // ---------------------
+    // Encoding
+    // ---------------------
+
+    private static void encode(StringBuilder out, String value, boolean[] allowed) {
+        int length = value.length();
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c < 128 && allowed[c]) {
+                out.append(c);
+            } else if (c == '%' && i + 2 < length && isHex(value.charAt(i + 1)) && isHex(value.charAt(i + 2))) {
+                out.append(c);   // already encoded, never double-encode
+            } else if (c < 128) {
+                appendEscaped(out, (byte) c);
+            } else {
+                int codePoint = value.codePointAt(i);
+                for (byte b : new String(Character.toChars(codePoint)).getBytes(StandardCharsets.UTF_8)) {
+                    appendEscaped(out, b);
+                }
+                i += Character.charCount(codePoint) - 1;
+            }
+        }
+    }
+
+    private static void appendEscaped(StringBuilder out, byte b) {
+        out.append('%').append(HEX[(b >> 4) & 0xF]).append(HEX[b & 0xF]);
+    }
+
+    private static boolean isHex(char c) {
+        return (c >= '0' && c <= '9') || (c >= 'a' && c <= 'f') || (c >= 'A' && c <= 'F');
+    }
+
+    private static boolean[] allowed(String extra) {
+        boolean[] allowed = new boolean[128];
+        for (char c = 'a'; c <= 'z'; c++) allowed[c] = true;
+        for (char c = 'A'; c <= 'Z'; c++) allowed[c] = true;
+        for (char c = '0'; c <= '9'; c++) allowed[c] = true;
+        for (char c : extra.toCharArray()) allowed[c] = true;
+        return allowed;
+    }
+}
@@ -0,0 +1,73 @@
+package in.zeta.qa.utils.rest.cache;
+
+import in.zeta.qa.utils.rest.ApiResponse;
+
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Freshness rules of RFC 9111 as far as a single-user test client needs them: {@code no-store} is never stored,
+ * {@code no-cache} is stored but revalidated on every use, otherwise {@code max-age} (minus {@code Age}) or
+ * {@code Expires} decide; responses without any of these are only kept when they carry a validator.
+ */
+final class CacheControl {
+
+    static final long NOT_CACHEABLE = Long.MIN_VALUE;
+
+    private CacheControl() {
+        // prevent instantiation
+    }
+
+    /**
+     * @param response           a 200 response, or the 304 that revalidated a stored one
+     * @param ttlOverrideSeconds per-endpoint TTL, or a negative value to follow the response headers
+     * @return the instant until which the response is fresh, or {@link #NOT_CACHEABLE}
+     */
+    static long expiresAt(ApiResponse response, long now, long ttlOverrideSeconds) {
+        String cacheControl = lower(response.getHeader("Cache-Control"));
+        if (cacheControl.contains("no-store")) return NOT_CACHEABLE;
+        if (ttlOverrideSeconds >= 0) return now + ttlOverrideSeconds * 1000;
+
+        boolean hasValidator = response.getHeader("ETag") != null || response.getHeader("Last-Modified") != null;
+        if (cacheControl.contains("no-cache")) return hasValidator ? now : NOT_CACHEABLE;
+
+        long maxAge = directive(cacheControl, "max-age");
+        if (maxAge >= 0) {
+            long age = parseLong(response.getHeader("Age"));
+            return now + Math.max(0, maxAge - Math.max(0, age)) * 1000;
+        }
+        String expires = response.getHeader("Expires");
+        if (expires != null) {
+            try {
+                return ZonedDateTime.parse(expires, DateTimeFormatter.RFC_1123_DATE_TIME).toInstant().toEpochMilli();
+            } catch (DateTimeParseException e) {
+                return now;   // invalid Expires means already expired
+            }
+        }
+        return hasValidator ? now : NOT_CACHEABLE;
+    }
+
+    private static long directive(String cacheControl, String name) {
+        for (String part : cacheControl.split(",")) {
+            String directive = part.trim();
+            if (directive.startsWith(name + "=")) {
+                return parseLong(directive.substring(name.length() + 1).replace("\"", ""));
+            }
+        }
+        return -1;
+    }
+
+    private static long parseLong(String value) {
+        if (value == null) return -1;
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private static String lower(String value) {
+        return value == null ? "" : value.toLowerCase();
+    }
+}
@@ -0,0 +1,50 @@
+package in.zeta.qa.utils.rest.cache;
+
+import in.zeta.qa.utils.rest.ApiResponse;
+
+import java.nio.charset.Charset;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable cache entry: the stored response plus its freshness and validators.
+ *
+ * @param expiresAtMillis entry is fresh until this instant, after which it has to be revalidated
+ * @param etag            {@code ETag} of the stored response, sent back as {@code If-None-Match}
+ * @param lastModified    {@code Last-Modified} of the stored response, sent back as {@code If-Modified-Since}
+ */
+public record CachedResponse(int statusCode, Map<String, List<String>> headers, byte[] body, String charset,
+                             long storedAtMillis, long expiresAtMillis, String etag, String lastModified) {
+
+    static CachedResponse of(ApiResponse response, long now, long expiresAtMillis) {
+        return new CachedResponse(response.getStatusCode(), response.getHeaders(), response.getBodyBytes(),
+                response.getCharset().name(), now, expiresAtMillis,
+                response.getHeader("ETag"), response.getHeader("Last-Modified"));
+    }
+
+    public boolean isFresh(long now) {
+        return now < expiresAtMillis;
+    }
+
+    public boolean canRevalidate() {
+        return etag != null || lastModified != null;
+    }
+
+    CachedResponse withExpiry(long now, long expiresAtMillis) {
+        return new CachedResponse(statusCode, headers, body, charset, now, expiresAtMillis, etag, lastModified);
+    }
+
+    ApiResponse toApiResponse() {
+        return ApiResponse.builder()
+                .statusCode(statusCode)
+                .headers(headers)
+                .bodyBytes(body)
+                .charset(Charset.forName(charset))
+                .build();
+    }
+
+    /** Approximate heap footprint, used to bound the in-memory tier. */
+    int weight() {
+        return body.length + 512;
+    }
+}
@@ -0,0 +1,133 @@
+package in.zeta.qa.utils.rest.cache;
+
+import in.zeta.qa.constants.anotation.CacheResponse;
+import in.zeta.qa.utils.fileUtils.PropertyFileReader;
+import in.zeta.qa.utils.rest.ApiRequest;
+import in.zeta.qa.utils.rest.ApiResponse;
+import in.zeta.qa.utils.rest.HttpClientService;
+import in.zeta.qa.utils.rest.HttpMethod;
+import in.zeta.qa.utils.rest.metrics.HttpMetrics;
+import in.zeta.qa.utils.rest.metrics.HttpMetrics.Counter;
+import in.zeta.qa.utils.rest.pipeline.EndpointAnnotations;
+import in.zeta.qa.utils.rest.pipeline.ForwardingHttpClientService;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Pipeline layer serving GET requests from the {@link ResponseCaches#get() response cache}.
+ * <p>
+ * Caching applies to endpoints annotated with {@link CacheResponse}, or to every GET when
+ * {@code http.cache.enabled=true}. Fresh entries are returned without a call; stale entries carrying an
+ * {@code ETag}/{@code Last-Modified} are revalidated with {@code If-None-Match}/{@code If-Modified-Since} and a
+ * {@code 304} refreshes them in place. Entries are keyed by URL, user and request headers. A request sending
+ * {@code Cache-Control: no-cache} or {@code no-store} bypasses the cache. Hits, misses and revalidations are counted
+ * per endpoint in {@link HttpMetrics}.
+ */
+@Slf4j
+public class CachingHttpClientService extends ForwardingHttpClientService {
+
+    private static final boolean CACHE_ALL_GETS = PropertyFileReader.getBooleanSetting("http.cache.enabled", false);
+
+    public CachingHttpClientService(HttpClientService delegate) {
+        super(delegate);
+    }
+
+    @Override
+    public ApiResponse execute(ApiRequest<?> request) {
+        Lookup lookup = lookup(request);
+        if (lookup == null) return delegate.execute(request);
+        if (lookup.isHit()) return lookup.hit();
+        return lookup.complete(delegate.execute(lookup.networkRequest()));
+    }
+
+    @Override
+    public CompletableFuture<ApiResponse> executeAsync(ApiRequest<?> request) {
+        Lookup lookup = lookup(request);
+        if (lookup == null) return delegate.executeAsync(request);
+        if (lookup.isHit()) return CompletableFuture.completedFuture(lookup.hit());
+        CompletableFuture<ApiResponse> call = delegate.executeAsync(lookup.networkRequest());
+        return cancelling(call, call.thenApply(lookup::complete));
+    }
+
+    /**
+     * @return the cache state for the request, or {@code null} when it is not cacheable
+     */
+    private Lookup lookup(ApiRequest<?> request) {
+        if (request.getMethod() != HttpMethod.GET || request.getDownloadTo() != null) return null;
+        CacheResponse annotation = EndpointAnnotations.get(request.getEndpoint(), CacheResponse.class);
+        if (annotation == null && !CACHE_ALL_GETS) return null;
+
+        Map<String, String> headers = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        if (request.getHeaders() != null) headers.putAll(request.getHeaders());
+        String requestCacheControl = headers.getOrDefault("Cache-Control", "").toLowerCase();
+        if (requestCacheControl.contains("no-cache") || requestCacheControl.contains("no-store")) return null;
+
+        String key = "GET " + buildUrl(request) + "\n" + request.getUsername() + "\n" + headers;
+        long ttl = annotation != null ? annotation.ttlSeconds() : -1;
+        return new Lookup(request, key, ttl, ResponseCaches.get().get(key), System.currentTimeMillis());
+    }
+
+    private static final class Lookup {
+        private final ApiRequest<?> request;
+        private final String key;
+        private final long ttlSeconds;
+        private final CachedResponse stored;
+        private final long now;
+
+        private Lookup(ApiRequest<?> request, String key, long ttlSeconds, CachedResponse stored, long now) {
+            this.request = request;
+            this.key = key;
+            this.ttlSeconds = ttlSeconds;
+            this.stored = stored;
+            this.now = now;
+        }
+
+        boolean isHit() {
+            return stored != null && stored.isFresh(now);
+        }
+
+        ApiResponse hit() {
+            HttpMetrics.increment(request, Counter.CACHE_HITS);
+            return stored.toApiResponse();
+        }
+
+        /**
+         * @return the request to send: conditional when a stale entry can be revalidated
+         */
+        ApiRequest<?> networkRequest() {
+            if (stored == null || !stored.canRevalidate()) return request;
+            Map<String, String> headers = new LinkedHashMap<>();
+            if (request.getHeaders() != null) headers.putAll(request.getHeaders());
+            if (stored.etag() != null) headers.put("If-None-Match", stored.etag());
+            if (stored.lastModified() != null) headers.put("If-Modified-Since", stored.lastModified());
+            return request.toBuilder().headers(headers).build();
+        }
+
+        ApiResponse complete(ApiResponse response) {
+            long completedAt = System.currentTimeMillis();
+            ResponseCache cache = ResponseCaches.get();
+            if (response.getStatusCode() == 304 && stored != null) {
+                HttpMetrics.increment(request, Counter.CACHE_REVALIDATIONS);
+                long expiresAt = CacheControl.expiresAt(response, completedAt, ttlSeconds);
+                CachedResponse refreshed = stored.withExpiry(completedAt,
+                        expiresAt == CacheControl.NOT_CACHEABLE ? completedAt : expiresAt);
+                cache.put(key, refreshed);
+                return refreshed.toApiResponse();
+            }
+            HttpMetrics.increment(request, Counter.CACHE_MISSES);
+            if (response.getStatusCode() == 200) {
+                long expiresAt = CacheControl.expiresAt(response, completedAt, ttlSeconds);
+                if (expiresAt != CacheControl.NOT_CACHEABLE) {
+                    cache.put(key, CachedResponse.of(response, completedAt, expiresAt));
+                } else if (stored != null) {
+                    cache.invalidate(key);
+                }
+            }
+            return response;
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package in.zeta.qa.utils.rest.cache;
+
+import in.zeta.qa.utils.misc.ObjectMapperRegistry;
+import in.zeta.qa.utils.misc.ObjectMapperRegistry.Profile;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.stream.Stream;
+
+/**
+ * On-disk tier: one JSON file per entry, named by the SHA-256 of the key, so cached reference data survives across
+ * JVMs (e.g. forked surefire runs). Unreadable files are treated as misses. Writes go through a temp file and an
+ * atomic move so concurrent readers never see a partial entry.
+ */
+@Slf4j
+public class DiskResponseCache implements ResponseCache {
+
+    private final Path directory;
+
+    public DiskResponseCache(Path directory) {
+        this.directory = directory;
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to create response cache directory: " + directory, e);
+        }
+    }
+
+    @Override
+    public CachedResponse get(String key) {
+        Path file = fileOf(key);
+        if (!Files.exists(file)) return null;
+        try {
+            return ObjectMapperRegistry.reader(Profile.DEFAULT, CachedResponse.class).readValue(file.toFile());
+        } catch (IOException e) {
+            log.debug("Ignoring unreadable cache entry {}: {}", file, e.getMessage());
+            return null;
+        }
+    }
+
+    @Override
+    public void put(String key, CachedResponse response) {
+        Path file = fileOf(key);
+        try {
+            Path temp = Files.createTempFile(directory, "entry", ".tmp");
+            ObjectMapperRegistry.writer(Profile.DEFAULT).writeValue(temp.toFile(), response);
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.warn("Unable to write cache entry {}: {}", file, e.getMessage());
+        }
+    }
+
+    @Override
+    public void invalidate(String key) {
+        try {
+            Files.deleteIfExists(fileOf(key));
+        } catch (IOException e) {
+            log.warn("Unable to delete cache entry for {}: {}", key, e.getMessage());
+        }
+    }
+
+    @Override
+    public void clear() {
+        try (Stream<Path> files = Files.list(directory)) {
+            files.filter(f -> f.toString().endsWith(".json")).forEach(f -> f.toFile().delete());
+        } catch (IOException e) {
+            log.warn("Unable to clear response cache directory {}: {}", directory, e.getMessage());
+        }
+    }
+
+    private Path fileOf(String key) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(key.getBytes(StandardCharsets.UTF_8));
+            return directory.resolve(HexFormat.of().formatHex(digest) + ".json");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package in.zeta.qa.utils.rest.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * Size-bounded LRU tier kept on the heap; bounded by the approximate total size of the stored bodies.
+ */
+public class InMemoryResponseCache implements ResponseCache {
+
+    private final Cache<String, CachedResponse> cache;
+
+    public InMemoryResponseCache(long maxBytes) {
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((String key, CachedResponse response) -> response.weight())
+                .build();
+    }
+
+    @Override
+    public CachedResponse get(String key) {
+        return cache.getIfPresent(key);
+    }
+
+    @Override
+    public void put(String key, CachedResponse response) {
+        cache.put(key, response);
+    }
+
+    @Override
+    public void invalidate(String key) {
+        cache.invalidate(key);
+    }
+
+    @Override
+    public void clear() {
+        cache.invalidateAll();
+    }
+}
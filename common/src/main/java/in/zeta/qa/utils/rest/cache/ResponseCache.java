@@ -0,0 +1,19 @@
+package in.zeta.qa.utils.rest.cache;
+
+/**
+ * Storage behind {@link CachingHttpClientService}. Implementations must be thread-safe; install a custom one
+ * with {@link ResponseCaches#install(ResponseCache)}.
+ */
+public interface ResponseCache {
+
+    /**
+     * @return the stored entry (fresh or stale), or {@code null}
+     */
+    CachedResponse get(String key);
+
+    void put(String key, CachedResponse response);
+
+    void invalidate(String key);
+
+    void clear();
+}
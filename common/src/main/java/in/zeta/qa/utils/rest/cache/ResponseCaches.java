@@ -0,0 +1,38 @@
+package in.zeta.qa.utils.rest.cache;
+
+import in.zeta.qa.utils.fileUtils.PropertyFileReader;
+
+import java.nio.file.Paths;
+
+/**
+ * Holder of the process-wide {@link ResponseCache}.
+ * <p>
+ * By default an {@link InMemoryResponseCache} of {@code http.cache.maxBytes} (64 MB), backed by a
+ * {@link DiskResponseCache} when {@code http.cache.dir} is set.
+ */
+public final class ResponseCaches {
+
+    private static volatile ResponseCache current = createDefault();
+
+    private ResponseCaches() {
+        // prevent instantiation
+    }
+
+    public static ResponseCache get() {
+        return current;
+    }
+
+    /**
+     * Replaces the cache used by every client from now on.
+     */
+    public static void install(ResponseCache cache) {
+        current = cache;
+    }
+
+    private static ResponseCache createDefault() {
+        ResponseCache memory = new InMemoryResponseCache(
+                PropertyFileReader.getLongSetting("http.cache.maxBytes", 64L * 1024 * 1024));
+        String dir = PropertyFileReader.getSetting("http.cache.dir", "");
+        return dir.isEmpty() ? memory : new TieredResponseCache(memory, new DiskResponseCache(Paths.get(dir)));
+    }
+}
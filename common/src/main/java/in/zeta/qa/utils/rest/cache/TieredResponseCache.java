@@ -0,0 +1,43 @@
+package in.zeta.qa.utils.rest.cache;
+
+/**
+ * Memory tier in front of a disk tier; disk hits are promoted to memory.
+ */
+public class TieredResponseCache implements ResponseCache {
+
+    private final ResponseCache memory;
+    private final ResponseCache disk;
+
+    public TieredResponseCache(ResponseCache memory, ResponseCache disk) {
+        this.memory = memory;
+        this.disk = disk;
+    }
+
+    @Override
+    public CachedResponse get(String key) {
+        CachedResponse response = memory.get(key);
+        if (response == null) {
+            response = disk.get(key);
+            if (response != null) memory.put(key, response);
+        }
+        return response;
+    }
+
+    @Override
+    public void put(String key, CachedResponse response) {
+        memory.put(key, response);
+        disk.put(key, response);
+    }
+
+    @Override
+    public void invalidate(String key) {
+        memory.invalidate(key);
+        disk.invalidate(key);
+    }
+
+    @Override
+    public void clear() {
+        memory.clear();
+        disk.clear();
+    }
+}
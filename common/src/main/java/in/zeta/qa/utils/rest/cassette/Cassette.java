@@ -0,0 +1,107 @@
+package in.zeta.qa.utils.rest.cassette;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import in.zeta.qa.utils.misc.ObjectMapperRegistry;
+import in.zeta.qa.utils.misc.ObjectMapperRegistry.Profile;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * The exchanges of one test, stored as gzip-compressed JSON lines and indexed in memory by {@link RequestKey}.
+ * <p>
+ * A request sent several times replays its recorded responses in order, the last one repeating once they are used
+ * up, so polling and retried calls see what they saw when recorded.
+ */
+@Slf4j
+final class Cassette {
+
+    private static final ObjectWriter LINE_WRITER = ObjectMapperRegistry.writer(Profile.DEFAULT, Interaction.class)
+            .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
+    private final String name;
+    private final Path file;
+    private final Map<String, List<Interaction>> index = new ConcurrentHashMap<>();
+    private final Map<String, AtomicInteger> cursors = new ConcurrentHashMap<>();
+    private final List<Interaction> recorded = new ArrayList<>();
+
+    private Cassette(String name, Path file) {
+        this.name = name;
+        this.file = file;
+    }
+
+    static Cassette empty(String name, Path file) {
+        return new Cassette(name, file);
+    }
+
+    static Cassette load(String name, Path file) {
+        Cassette cassette = new Cassette(name, file);
+        if (!Files.exists(file)) return cassette;
+        try (InputStream in = new GZIPInputStream(Files.newInputStream(file));
+             MappingIterator<Interaction> lines = ObjectMapperRegistry.reader(Profile.DEFAULT, Interaction.class)
+                     .readValues(in)) {
+            while (lines.hasNext()) {
+                Interaction interaction = lines.next();
+                cassette.index.computeIfAbsent(interaction.key(), k -> new ArrayList<>(1)).add(interaction);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to read cassette " + file, e);
+        }
+        return cassette;
+    }
+
+    String name() {
+        return name;
+    }
+
+    /**
+     * @return the next recorded response for the request, or {@code null} when it was never recorded
+     */
+    Interaction next(String key) {
+        List<Interaction> interactions = index.get(key);
+        if (interactions == null) return null;
+        int position = cursors.computeIfAbsent(key, k -> new AtomicInteger()).getAndIncrement();
+        return interactions.get(Math.min(position, interactions.size() - 1));
+    }
+
+    synchronized void record(Interaction interaction) {
+        recorded.add(interaction);
+    }
+
+    /**
+     * Writes everything recorded so far, replacing the file through a temp file and an atomic move.
+     */
+    synchronized void save() {
+        if (recorded.isEmpty()) return;
+        try {
+            Files.createDirectories(file.getParent());
+            Path temp = Files.createTempFile(file.getParent(), "cassette", ".tmp");
+            try (OutputStream out = new GZIPOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                for (Interaction interaction : recorded) {
+                    LINE_WRITER.writeValue(out, interaction);
+                    out.write('\n');
+                }
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            log.debug("Recorded {} exchanges to {}", recorded.size(), file);
+        } catch (IOException e) {
+            log.warn("Unable to write cassette {}: {}", file, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package in.zeta.qa.utils.rest.cassette;
+
+import in.zeta.qa.utils.exceptions.CassetteMissException;
+import in.zeta.qa.utils.rest.ApiRequest;
+import in.zeta.qa.utils.rest.ApiResponse;
+import in.zeta.qa.utils.rest.HttpClientService;
+import in.zeta.qa.utils.rest.pipeline.ForwardingHttpClientService;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Pipeline layer recording exchanges to, or replaying them from, the current thread's cassette (see
+ * {@link Cassettes}). In replay mode no other layer and no network is involved; a request that does not match any
+ * recorded one fails with a {@link CassetteMissException} rather than silently reaching a live environment.
+ */
+public class CassetteHttpClientService extends ForwardingHttpClientService {
+
+    public CassetteHttpClientService(HttpClientService delegate) {
+        super(delegate);
+    }
+
+    @Override
+    public ApiResponse execute(ApiRequest<?> request) {
+        return switch (Cassettes.mode()) {
+            case OFF -> delegate.execute(request);
+            case REPLAY -> replay(Cassettes.current(), request);
+            case RECORD -> record(Cassettes.current(), request, delegate.execute(request));
+        };
+    }
+
+    @Override
+    public CompletableFuture<ApiResponse> executeAsync(ApiRequest<?> request) {
+        switch (Cassettes.mode()) {
+            case REPLAY:
+                try {
+                    return CompletableFuture.completedFuture(replay(Cassettes.current(), request));
+                } catch (RuntimeException e) {
+                    return CompletableFuture.failedFuture(e);
+                }
+            case RECORD:
+                // resolved on the calling thread, the response completes on another one
+                Cassette cassette = Cassettes.current();
+                CompletableFuture<ApiResponse> call = delegate.executeAsync(request);
+                return cancelling(call, call.thenApply(response -> record(cassette, request, response)));
+            default:
+                return delegate.executeAsync(request);
+        }
+    }
+
+    private ApiResponse record(Cassette cassette, ApiRequest<?> request, ApiResponse response) {
+        cassette.record(Interaction.of(RequestKey.of(request), describe(request), response));
+        return response;
+    }
+
+    private ApiResponse replay(Cassette cassette, ApiRequest<?> request) {
+        Interaction interaction = cassette.next(RequestKey.of(request));
+        if (interaction == null) {
+            throw new CassetteMissException("No recorded response in cassette '" + cassette.name() + "' for "
+                    + describe(request) + "; record it again with http.cassette.mode=record");
+        }
+        ApiResponse response = interaction.toApiResponse();
+        if (request.getDownloadTo() == null) return response;
+        try {
+            Files.write(request.getDownloadTo(), interaction.body());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write response body to " + request.getDownloadTo(), e);
+        }
+        return ApiResponse.builder()
+                .statusCode(response.getStatusCode())
+                .headers(response.getHeaders())
+                .charset(response.getCharset())
+                .bodyFile(request.getDownloadTo())
+                .build();
+    }
+
+    private String describe(ApiRequest<?> request) {
+        return request.getMethod() + " " + buildUrl(request);
+    }
+}
@@ -0,0 +1,21 @@
+package in.zeta.qa.utils.rest.cassette;
+
+/**
+ * Value of {@code http.cassette.mode}.
+ */
+public enum CassetteMode {
+    /** Requests go to the network, nothing is recorded. */
+    OFF,
+    /** Requests go to the network and each exchange is written to the running test's cassette. */
+    RECORD,
+    /** Requests are answered from the running test's cassette; an unmatched request fails. */
+    REPLAY;
+
+    static CassetteMode of(String value) {
+        return switch (value.trim().toLowerCase()) {
+            case "record" -> RECORD;
+            case "replay" -> REPLAY;
+            default -> OFF;
+        };
+    }
+}
@@ -0,0 +1,76 @@
+package in.zeta.qa.utils.rest.cassette;
+
+import in.zeta.qa.utils.fileUtils.PropertyFileReader;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The cassette store: which cassette the current thread records to or replays from, and the cassettes loaded so far.
+ * <p>
+ * {@code http.cassette.mode} is {@code off} (default), {@code record} or {@code replay}; cassettes live under
+ * {@code http.cassette.dir} (default {@code src/test/resources/cassettes}), one {@code <name>.jsonl.gz} per test.
+ * A cassette is loaded once per JVM and kept in memory, so replay never touches the disk after the first request.
+ * Requests sent outside of an inserted cassette (e.g. retries scheduled on a pool thread) use the {@code default}
+ * cassette.
+ */
+public final class Cassettes {
+
+    private static final String DEFAULT_CASSETTE = "default";
+
+    private static final CassetteMode MODE =
+            CassetteMode.of(PropertyFileReader.getSetting("http.cassette.mode", "off"));
+    private static final Path DIRECTORY =
+            Paths.get(PropertyFileReader.getSetting("http.cassette.dir", "src/test/resources/cassettes"));
+
+    private static final Map<String, Cassette> CASSETTES = new ConcurrentHashMap<>();
+    private static final ThreadLocal<Cassette> CURRENT = new ThreadLocal<>();
+
+    private Cassettes() {
+        // prevent instantiation
+    }
+
+    public static CassetteMode mode() {
+        return MODE;
+    }
+
+    /**
+     * Makes {@code name} the cassette of the current thread. A cassette inserted again in the same run (data
+     * providers, re-runs) continues where it stopped instead of starting over.
+     */
+    public static void insert(String name) {
+        if (MODE == CassetteMode.OFF) return;
+        CURRENT.set(cassette(name));
+    }
+
+    /**
+     * Detaches the current thread's cassette, writing what it recorded.
+     */
+    public static void eject() {
+        Cassette cassette = CURRENT.get();
+        CURRENT.remove();
+        if (cassette != null && MODE == CassetteMode.RECORD) cassette.save();
+    }
+
+    /**
+     * Writes every cassette recorded in this run, including the {@code default} one.
+     */
+    public static void saveAll() {
+        if (MODE == CassetteMode.RECORD) CASSETTES.values().forEach(Cassette::save);
+    }
+
+    static Cassette current() {
+        Cassette cassette = CURRENT.get();
+        return cassette != null ? cassette : cassette(DEFAULT_CASSETTE);
+    }
+
+    private static Cassette cassette(String name) {
+        return CASSETTES.computeIfAbsent(name, n -> {
+            Path file = DIRECTORY.resolve(n + ".jsonl.gz");
+            // a recording starts from scratch, replaying reads what the last recording wrote
+            return MODE == CassetteMode.RECORD ? Cassette.empty(n, file) : Cassette.load(n, file);
+        });
+    }
+}
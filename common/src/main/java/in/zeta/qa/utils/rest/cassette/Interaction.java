@@ -0,0 +1,31 @@
+package in.zeta.qa.utils.rest.cassette;
+
+import in.zeta.qa.utils.rest.ApiResponse;
+
+import java.nio.charset.Charset;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One recorded exchange, a line of a cassette file.
+ *
+ * @param key     hash of the normalized request, see {@link RequestKey}
+ * @param request method and URL, only there for humans reading the cassette
+ */
+record Interaction(String key, String request, int statusCode, Map<String, List<String>> headers, byte[] body,
+                   String charset) {
+
+    static Interaction of(String key, String request, ApiResponse response) {
+        return new Interaction(key, request, response.getStatusCode(), response.getHeaders(), response.getBodyBytes(),
+                response.getCharset().name());
+    }
+
+    ApiResponse toApiResponse() {
+        return ApiResponse.builder()
+                .statusCode(statusCode)
+                .headers(headers)
+                .bodyBytes(body)
+                .charset(Charset.forName(charset))
+                .build();
+    }
+}
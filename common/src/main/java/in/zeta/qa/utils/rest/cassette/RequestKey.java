@@ -0,0 +1,98 @@
+package in.zeta.qa.utils.rest.cassette;
+
+import com.fasterxml.jackson.databind.SerializationFeature;
+import in.zeta.qa.utils.fileUtils.PropertyFileReader;
+import in.zeta.qa.utils.misc.ObjectMapperRegistry;
+import in.zeta.qa.utils.rest.ApiRequest;
+import in.zeta.qa.utils.rest.RequestBodySerializer;
+import in.zeta.qa.utils.rest.metrics.HttpMetrics;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * Matching rules of the cassette store. Two requests match when they have the same method, {@code ApiEndpoint},
+ * path, query and form parameters, file and part names, normalized body and the values of the headers listed in
+ * {@code http.cassette.matchHeaders} (none by default, tokens and trace ids change on every run).
+ * <p>
+ * The server URL is not part of the key, so a cassette recorded against one environment replays for any other.
+ * JSON bodies are compared with their object keys sorted and whitespace removed; other bodies as sent.
+ */
+final class RequestKey {
+
+    private static final Set<String> MATCH_HEADERS = PropertyFileReader.getListSetting("http.cassette.matchHeaders")
+            .stream().map(header -> header.trim().toLowerCase()).collect(Collectors.toUnmodifiableSet());
+
+    private RequestKey() {
+        // prevent instantiation
+    }
+
+    /**
+     * @return SHA-256 of the normalized request, so that the index stays small whatever the bodies' size
+     */
+    static String of(ApiRequest<?> request) {
+        StringBuilder key = new StringBuilder()
+                .append(request.getMethod()).append(' ')
+                .append(HttpMetrics.keyOf(request.getEndpoint())).append('\n')
+                .append(sorted(request.getPathParams())).append('\n')
+                .append(sorted(request.getQueryParams())).append('\n')
+                .append(sorted(request.getFormParams())).append('\n');
+        if (request.getHeaders() != null && !MATCH_HEADERS.isEmpty()) {
+            Map<String, String> headers = new TreeMap<>();
+            request.getHeaders().forEach((name, value) -> {
+                if (name != null && MATCH_HEADERS.contains(name.toLowerCase())) headers.put(name.toLowerCase(), value);
+            });
+            key.append(headers);
+        }
+        key.append('\n');
+        if (request.getFiles() != null) {
+            List<String> files = request.getFiles().stream().map(File::getName).toList();
+            key.append(files);
+        }
+        if (request.getParts() != null) {
+            // content is not read for matching, streams could not be sent afterwards
+            List<String> parts = request.getParts().stream()
+                    .map(part -> part.isField() ? part.getName() + "=" + part.getText()
+                            : part.getName() + ":" + part.getFileName() + ":" + part.getLength())
+                    .toList();
+            key.append(parts);
+        }
+        key.append('\n').append(normalizedBody(request.getBody()));
+        return sha256(key.toString());
+    }
+
+    private static String sorted(Map<String, ?> params) {
+        return params == null ? "{}" : new TreeMap<>(params).toString();
+    }
+
+    private static String normalizedBody(Object body) {
+        if (body == null) return "";
+        byte[] bytes = RequestBodySerializer.toBytes(body, false);
+        try {
+            Object json = ObjectMapperRegistry.defaultMapper().readValue(bytes, Object.class);
+            return ObjectMapperRegistry.defaultMapper().writer()
+                    .with(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS)
+                    .writeValueAsString(json);
+        } catch (IOException e) {
+            return new String(bytes, StandardCharsets.UTF_8);   // not JSON, match as sent
+        }
+    }
+
+    private static String sha256(String value) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,233 @@
+package in.zeta.qa.utils.rest.java_http;
+
+import in.zeta.qa.utils.cuncurrency.SingletonFactory;
+import in.zeta.qa.utils.fileUtils.PropertyFileReader;
+import in.zeta.qa.utils.rest.ApiRequest;
+import in.zeta.qa.utils.rest.ApiResponse;
+import in.zeta.qa.utils.rest.HeaderSet;
+import in.zeta.qa.utils.rest.HttpClientService;
+import in.zeta.qa.utils.rest.HttpCompression;
+import in.zeta.qa.utils.rest.HttpExecutors;
+import in.zeta.qa.utils.rest.HttpTimeouts;
+import in.zeta.qa.utils.rest.MultipartUpload;
+import in.zeta.qa.utils.rest.metrics.RequestTimings.Phase;
+import in.zeta.qa.utils.rest.metrics.TimingRecorder;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+
+/**
+ * {@link HttpClientService} backed by {@code java.net.http.HttpClient}.
+ * <p>
+ * A single client instance (and therefore a single connection pool) is shared by all threads. With HTTP/2 many
+ * concurrent requests to the same host are multiplexed as streams over a few connections, and
+ * {@link #executeAsync(ApiRequest)} is natively non-blocking.
+ * <p>
+ * Configuration: {@code http.java.version} (HTTP_2 | HTTP_1_1), {@code http.java.executor}
+ * (default | fixed | virtual), {@code http.java.executor.threads}, {@code http.connectTimeoutSeconds}
+ * and {@code http.requestTimeoutSeconds}.
+ */
+@Slf4j
+public class JavaHttpClientServiceImpl implements HttpClientService {
+
+    private JavaHttpClientServiceImpl() { }   // prevent external new
+
+    public static HttpClientService getInstance() {
+        return SingletonFactory.getInstance(JavaHttpClientServiceImpl.class);
+    }
+
+    private static final String CONTENT_TYPE = "Content-Type";
+    private static final String JSON = "application/json; charset=utf-8";
+    private static final String FORM = "application/x-www-form-urlencoded";
+
+    private static final HttpClient CLIENT = createClient();
+
+    /** name, value, name, value, ... as taken by {@link HttpRequest.Builder#headers(String...)} */
+    private static final Function<HeaderSet, String[]> JDK_HEADERS = headerSet -> {
+        List<String> namesAndValues = new ArrayList<>(headerSet.size() * 2);
+        headerSet.forEach((name, value) -> {
+            namesAndValues.add(name);
+            namesAndValues.add(value);
+        });
+        return namesAndValues.toArray(String[]::new);
+    };
+
+    private static HttpClient createClient() {
+        HttpClient.Builder builder = HttpClient.newBuilder()
+                .version(HttpClient.Version.valueOf(
+                        PropertyFileReader.getSetting("http.java.version", "HTTP_2")))
+                .connectTimeout(HttpTimeouts.CONNECT)
+                .followRedirects(HttpClient.Redirect.NORMAL);
+        ExecutorService executor = createExecutor(PropertyFileReader.getSetting("http.java.executor", "default"));
+        if (executor != null) builder.executor(executor);
+        return builder.build();
+    }
+
+    /**
+     * @return executor for the client's async work, or {@code null} to keep the JDK default (cached pool)
+     */
+    private static ExecutorService createExecutor(String type) {
+        switch (type.toLowerCase()) {
+            case "fixed":
+                int threads = PropertyFileReader.getIntSetting("http.java.executor.threads",
+                        Runtime.getRuntime().availableProcessors());
+                return Executors.newFixedThreadPool(threads, HttpExecutors.daemonThreadFactory("java-http"));
+            case "virtual":
+                try {
+                    // resolved reflectively so the module still builds and runs on Java 17
+                    return (ExecutorService) MethodHandles.publicLookup()
+                            .findStatic(Executors.class, "newVirtualThreadPerTaskExecutor", MethodType.methodType(ExecutorService.class))
+                            .invoke();
+                } catch (Throwable e) {
+                    log.warn("Virtual threads are not available on this JVM, using the default HttpClient executor");
+                    return null;
+                }
+            default:
+                return null;
+        }
+    }
+
+    @Override
+    public ApiResponse execute(ApiRequest<?> request) {
+        TimingRecorder recorder = new TimingRecorder();
+        try {
+            return toApiResponse(CLIENT.send(buildRequest(request), bodyHandler(request, recorder)), recorder);
+        } catch (IOException e) {
+            throw new RuntimeException("HttpClient call failed: " + e.getMessage(), e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("HttpClient call interrupted", e);
+        }
+    }
+
+    @Override
+    public CompletableFuture<ApiResponse> executeAsync(ApiRequest<?> request) {
+        TimingRecorder recorder = new TimingRecorder();
+        CompletableFuture<? extends HttpResponse<?>> responseFuture =
+                CLIENT.sendAsync(buildRequest(request), bodyHandler(request, recorder));
+        CompletableFuture<ApiResponse> future = new CompletableFuture<>();
+        future.whenComplete((response, error) -> {
+            if (future.isCancelled()) responseFuture.cancel(true);
+        });
+        responseFuture.whenComplete((response, error) -> {
+            if (error == null) {
+                future.complete(toApiResponse(response, recorder));
+            } else {
+                Throwable cause = error.getCause() != null ? error.getCause() : error;
+                future.completeExceptionally(new RuntimeException("HttpClient call failed: " + cause.getMessage(), cause));
+            }
+        });
+        return future;
+    }
+
+    private HttpRequest buildRequest(ApiRequest<?> request) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(buildUrl(request)))
+                .timeout(HttpTimeouts.of(request));
+
+        if (request.getHeaders() instanceof HeaderSet headerSet) {
+            if (!headerSet.isEmpty()) builder.headers(headerSet.as(JDK_HEADERS));
+        } else if (request.getHeaders() != null) {
+            request.getHeaders().forEach(builder::header);
+        }
+        if (request.getUsername() != null && request.getPassword() != null) {
+            String credentials = request.getUsername() + ":" + request.getPassword();
+            builder.header("Authorization", "Basic "
+                    + Base64.getEncoder().encodeToString(credentials.getBytes(StandardCharsets.UTF_8)));
+        }
+
+        if (HttpCompression.negotiates(request)) builder.header("Accept-Encoding", HttpCompression.ACCEPT_ENCODING);
+
+        return builder.method(request.getMethod().name(), buildBodyPublisher(request, builder)).build();
+    }
+
+    private HttpRequest.BodyPublisher buildBodyPublisher(ApiRequest<?> request, HttpRequest.Builder builder) {
+        String contentType = contentTypeFromHeaders(request.getHeaders());
+
+        MultipartUpload upload = MultipartUpload.of(request);
+        if (upload != null) {
+            builder.setHeader(CONTENT_TYPE, upload.getContentType());
+            // streamed from the parts as the client writes; chunked when a part's length is unknown
+            HttpRequest.BodyPublisher stream = HttpRequest.BodyPublishers.ofInputStream(upload::openStream);
+            long length = upload.contentLength();
+            return length < 0 ? stream : HttpRequest.BodyPublishers.fromPublisher(stream, length);
+        }
+        if (request.getFormParams() != null && !request.getFormParams().isEmpty()) {
+            StringJoiner form = new StringJoiner("&");
+            request.getFormParams().forEach((k, v) -> form.add(encode(k) + "=" + encode(v == null ? "" : String.valueOf(v))));
+            if (contentType == null) builder.header(CONTENT_TYPE, FORM);
+            return HttpRequest.BodyPublishers.ofString(form.toString());
+        }
+        Object body = request.getBody();
+        if (body == null) return HttpRequest.BodyPublishers.noBody();
+
+        if (contentType == null) builder.header(CONTENT_TYPE, JSON);
+        HttpCompression.EncodedBody encoded = HttpCompression.encodeBody(request, contentType);
+        if (encoded.gzipped()) builder.header("Content-Encoding", HttpCompression.GZIP);
+        return HttpRequest.BodyPublishers.ofByteArray(encoded.bytes());
+    }
+
+    private HttpResponse.BodyHandler<?> bodyHandler(ApiRequest<?> request, TimingRecorder recorder) {
+        return request.getDownloadTo() != null
+                ? timed(HttpResponse.BodyHandlers.ofFile(request.getDownloadTo()), recorder)
+                : timed(HttpResponse.BodyHandlers.ofByteArray(), recorder);
+    }
+
+    /**
+     * The client exposes no connection events; the handler is invoked once the response headers are in, which
+     * splits the call into time-to-first-byte (including connection setup and redirect hops) and body transfer.
+     */
+    private static <T> HttpResponse.BodyHandler<T> timed(HttpResponse.BodyHandler<T> handler, TimingRecorder recorder) {
+        recorder.start(Phase.TIME_TO_FIRST_BYTE);
+        return responseInfo -> {
+            recorder.end(Phase.TIME_TO_FIRST_BYTE);
+            recorder.start(Phase.BODY_TRANSFER);
+            return handler.apply(responseInfo);
+        };
+    }
+
+    private ApiResponse toApiResponse(HttpResponse<?> response, TimingRecorder recorder) {
+        recorder.end(Phase.BODY_TRANSFER);
+        ApiResponse.ApiResponseBuilder builder = ApiResponse.builder()
+                .statusCode(response.statusCode())
+                .headers(response.headers().map())
+                .charset(ApiResponse.charsetOf(response.headers().firstValue(CONTENT_TYPE).orElse(null)))
+                .timings(recorder.snapshot());
+        return response.body() instanceof Path file
+                ? builder.bodyFile(file).build()
+                : builder.bodyBytes((byte[]) response.body())
+                        .contentEncoding(response.headers().firstValue("Content-Encoding").orElse(null))
+                        .build();
+    }
+
+    private String contentTypeFromHeaders(Map<String, String> headers) {
+        if (headers == null) return null;
+        for (var e : headers.entrySet()) {
+            if (e.getKey() != null && e.getKey().equalsIgnoreCase(CONTENT_TYPE)) {
+                return e.getValue();
+            }
+        }
+        return null;
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+}
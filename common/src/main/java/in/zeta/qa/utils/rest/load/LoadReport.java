@@ -0,0 +1,56 @@
+package in.zeta.qa.utils.rest.load;
+
+import in.zeta.qa.utils.misc.ObjectMapperRegistry;
+import in.zeta.qa.utils.misc.ObjectMapperRegistry.Profile;
+import in.zeta.qa.utils.rest.metrics.LatencyHistogram;
+import lombok.Builder;
+import lombok.SneakyThrows;
+import lombok.Value;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Result of a {@link LoadRunner} run. {@link #getTotal()} covers every stage except warm-up; latencies are in
+ * milliseconds.
+ */
+@Value
+public class LoadReport {
+
+    StageReport total;
+    List<StageReport> stages;
+
+    /**
+     * @return requests of the measured stages that failed without a response or with a 4xx/5xx status
+     */
+    public long getErrorCount() {
+        long count = total.getErrors().values().stream().mapToLong(Long::longValue).sum();
+        for (var entry : total.getStatusCodes().entrySet()) {
+            if (entry.getKey() >= 400) count += entry.getValue();
+        }
+        return count;
+    }
+
+    @SneakyThrows
+    public String toJson() {
+        return ObjectMapperRegistry.prettyWriter(Profile.DEFAULT).writeValueAsString(this);
+    }
+
+    @Builder
+    @Value
+    public static class StageReport {
+        String name;
+        boolean warmUp;
+        long requests;
+        double durationSeconds;
+        /** Completed requests per second. */
+        double throughput;
+        /** Latency from the intended start, corrected for coordinated omission. */
+        LatencyHistogram.Summary responseTime;
+        /** Latency from the actual send. */
+        LatencyHistogram.Summary serviceTime;
+        Map<Integer, Long> statusCodes;
+        /** Requests that failed without a response, by exception type. */
+        Map<String, Long> errors;
+    }
+}
@@ -0,0 +1,167 @@
+package in.zeta.qa.utils.rest.load;
+
+import in.zeta.qa.utils.rest.ApiRequest;
+import in.zeta.qa.utils.rest.ApiResponse;
+import in.zeta.qa.utils.rest.HttpExecutors;
+import lombok.Builder;
+import lombok.NonNull;
+import lombok.Singular;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+/**
+ * Drives the same {@link ApiRequest}s used by functional tests as load.
+ * <pre>{@code
+ * LoadReport report = LoadRunner.builder()
+ *         .requests(() -> ApiRequest.builder().client(ClientType.JAVA_HTTP).serverURL(url)
+ *                 .endpoint(Endpoints.FIND_BY_STATUS).method(HttpMethod.GET).build())
+ *         .stage(LoadStage.rate("warm-up", Duration.ofSeconds(10), 20).asWarmUp())
+ *         .stage(LoadStage.ramp("ramp", Duration.ofSeconds(30), 20, 200))
+ *         .stage(LoadStage.rate("steady", Duration.ofMinutes(2), 200))
+ *         .build()
+ *         .run();
+ * }</pre>
+ * Requests go straight to the client's {@link in.zeta.qa.utils.rest.ClientType#getPipeline() pipeline}, bypassing
+ * the functional-test retries. Open-model stages need a client with a native async API
+ * ({@code JAVA_HTTP}, {@code OK_HTTP}) to reach high rates; blocking clients are limited by
+ * {@code http.async.maxThreads}.
+ */
+@Slf4j
+@Builder
+public class LoadRunner {
+
+    @NonNull
+    private final Supplier<ApiRequest<?>> requests;
+    @Singular
+    private final List<LoadStage> stages;
+    /** Upper bound of concurrently outstanding open-model requests; when reached the schedule slips. */
+    @Builder.Default
+    private final int maxInFlight = 1000;
+    /** How long to wait for outstanding requests once the last stage ended. */
+    @Builder.Default
+    private final Duration drainTimeout = Duration.ofSeconds(30);
+
+    public LoadReport run() {
+        Semaphore inFlight = new Semaphore(maxInFlight);
+        LoadStats total = new LoadStats();
+        List<LoadStats> stageStats = new ArrayList<>();
+
+        for (LoadStage stage : stages) {
+            log.info("Load stage '{}' started: {}", stage.getName(), describe(stage));
+            LoadStats stats = new LoadStats();
+            stageStats.add(stats);
+            LoadStats measured = stage.isWarmUp() ? null : total;
+            if (stage.isOpenModel()) {
+                runOpenModel(stage, stats, measured, inFlight);
+            } else {
+                runClosedModel(stage, stats, measured);
+            }
+        }
+        drain(inFlight);
+
+        List<LoadReport.StageReport> reports = new ArrayList<>();
+        for (int i = 0; i < stages.size(); i++) {
+            reports.add(stageStats.get(i).toReport(stages.get(i).getName(), stages.get(i).isWarmUp()));
+        }
+        LoadReport report = new LoadReport(total.toReport("total", false), reports);
+        log.info("Load run finished: {} requests, {} errors, p99 {} ms", report.getTotal().getRequests(),
+                report.getErrorCount(), report.getTotal().getResponseTime().p99());
+        return report;
+    }
+
+    /**
+     * Starts requests at their scheduled time without waiting for earlier ones. Latency is measured from the
+     * scheduled time, so any delay caused by the generator itself or by {@link #maxInFlight} is still accounted for.
+     */
+    private void runOpenModel(LoadStage stage, LoadStats stats, LoadStats total, Semaphore inFlight) {
+        long stageStart = System.nanoTime();
+        for (long k = 0; ; k++) {
+            long offset = stage.offsetNanos(k);
+            if (offset < 0) break;
+            long intendedStart = stageStart + offset;
+            long wait = intendedStart - System.nanoTime();
+            if (wait > 0) LockSupport.parkNanos(wait);
+            inFlight.acquireUninterruptibly();
+            send(intendedStart, stats, total).whenComplete((response, error) -> inFlight.release());
+        }
+        long remaining = stageStart + stage.getDuration().toNanos() - System.nanoTime();
+        if (remaining > 0) LockSupport.parkNanos(remaining);
+    }
+
+    /**
+     * Each virtual user sends its next request as soon as the previous one completed.
+     */
+    private void runClosedModel(LoadStage stage, LoadStats stats, LoadStats total) {
+        long deadline = System.nanoTime() + stage.getDuration().toNanos();
+        int users = Math.max(1, stage.getConcurrency());
+        ExecutorService executor = Executors.newFixedThreadPool(users, HttpExecutors.daemonThreadFactory("load-vu"));
+        CountDownLatch finished = new CountDownLatch(users);
+        for (int i = 0; i < users; i++) {
+            executor.execute(() -> {
+                try {
+                    while (System.nanoTime() < deadline) {
+                        try {
+                            send(System.nanoTime(), stats, total).join();
+                        } catch (RuntimeException e) {
+                            // already recorded, keep the user going
+                        }
+                    }
+                } finally {
+                    finished.countDown();
+                }
+            });
+        }
+        try {
+            finished.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private CompletableFuture<ApiResponse> send(long intendedStart, LoadStats stats, LoadStats total) {
+        long actualStart = System.nanoTime();
+        CompletableFuture<ApiResponse> future;
+        try {
+            ApiRequest<?> request = requests.get();
+            future = request.getClient().getPipeline().executeAsync(request);
+        } catch (RuntimeException e) {
+            future = CompletableFuture.failedFuture(e);
+        }
+        return future.whenComplete((response, error) -> {
+            long end = System.nanoTime();
+            stats.record(intendedStart, actualStart, end, response, error);
+            if (total != null) total.record(intendedStart, actualStart, end, response, error);
+        });
+    }
+
+    private void drain(Semaphore inFlight) {
+        try {
+            if (!inFlight.tryAcquire(maxInFlight, drainTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                log.warn("{} load requests still outstanding after {}, reporting without them",
+                        maxInFlight - inFlight.availablePermits(), drainTimeout);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static String describe(LoadStage stage) {
+        String load = stage.isOpenModel()
+                ? stage.getStartRate() + " -> " + stage.getEndRate() + " req/s"
+                : stage.getConcurrency() + " users";
+        return load + " for " + stage.getDuration() + (stage.isWarmUp() ? " (warm-up)" : "");
+    }
+}
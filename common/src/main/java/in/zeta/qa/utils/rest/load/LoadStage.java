@@ -0,0 +1,69 @@
+package in.zeta.qa.utils.rest.load;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.Duration;
+
+/**
+ * One stage of a {@link LoadRunner} run.
+ * <p>
+ * A stage either drives an arrival rate (open model: requests are started on schedule no matter how many are still
+ * in flight, linearly ramping from {@code startRate} to {@code endRate}) or a fixed number of virtual users (closed
+ * model: each user sends its next request when the previous one completed). Warm-up stages are executed and
+ * reported but excluded from the run totals.
+ */
+@Builder(toBuilder = true)
+@Value
+public class LoadStage {
+
+    String name;
+    Duration duration;
+    /** Requests per second at the start of the stage (open model). */
+    double startRate;
+    /** Requests per second at the end of the stage (open model), equal to {@code startRate} for a constant rate. */
+    double endRate;
+    /** Virtual users (closed model); used when no rate is set. */
+    int concurrency;
+    boolean warmUp;
+
+    public static LoadStage rate(String name, Duration duration, double requestsPerSecond) {
+        return ramp(name, duration, requestsPerSecond, requestsPerSecond);
+    }
+
+    public static LoadStage ramp(String name, Duration duration, double fromRate, double toRate) {
+        return LoadStage.builder().name(name).duration(duration).startRate(fromRate).endRate(toRate).build();
+    }
+
+    public static LoadStage concurrency(String name, Duration duration, int users) {
+        return LoadStage.builder().name(name).duration(duration).concurrency(users).build();
+    }
+
+    public LoadStage asWarmUp() {
+        return toBuilder().warmUp(true).build();
+    }
+
+    public boolean isOpenModel() {
+        return startRate > 0 || endRate > 0;
+    }
+
+    /**
+     * Intended start of the k-th request (0-based) relative to the stage start, i.e. the time at which the
+     * cumulative arrivals {@code N(t) = r0*t + (r1 - r0)*t^2 / 2D} reach k.
+     *
+     * @return offset in nanoseconds, or {@code -1} when the k-th request falls outside the stage
+     */
+    long offsetNanos(long k) {
+        double seconds = duration.toNanos() / 1e9;
+        double slope = (endRate - startRate) / (2 * seconds);
+        double t;
+        if (Math.abs(slope) < 1e-12) {
+            t = k / startRate;
+        } else {
+            double discriminant = startRate * startRate + 4 * slope * k;
+            if (discriminant < 0) return -1;
+            t = (-startRate + Math.sqrt(discriminant)) / (2 * slope);
+        }
+        return t >= 0 && t < seconds ? (long) (t * 1e9) : -1;
+    }
+}
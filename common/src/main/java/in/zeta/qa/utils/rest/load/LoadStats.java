@@ -0,0 +1,63 @@
+package in.zeta.qa.utils.rest.load;
+
+import in.zeta.qa.utils.rest.ApiResponse;
+import in.zeta.qa.utils.rest.metrics.LatencyHistogram;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Thread-safe accumulator behind a {@link LoadReport.StageReport}.
+ * <p>
+ * Two latencies are kept per request: the response time measured from the <em>intended</em> start (corrected for
+ * coordinated omission - when the generator or the in-flight limit delays a send, that delay is charged to the
+ * request instead of silently disappearing) and the service time measured from the actual send.
+ */
+final class LoadStats {
+
+    private final LatencyHistogram responseTime = new LatencyHistogram();
+    private final LatencyHistogram serviceTime = new LatencyHistogram();
+    private final Map<Integer, LongAdder> statusCodes = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> errors = new ConcurrentHashMap<>();
+    private final LongAccumulator firstStart = new LongAccumulator(Math::min, Long.MAX_VALUE);
+    private final LongAccumulator lastEnd = new LongAccumulator(Math::max, Long.MIN_VALUE);
+
+    void record(long intendedStart, long actualStart, long end, ApiResponse response, Throwable error) {
+        responseTime.recordNanos(end - intendedStart);
+        serviceTime.recordNanos(end - actualStart);
+        firstStart.accumulate(intendedStart);
+        lastEnd.accumulate(end);
+        if (error != null) {
+            Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+            errors.computeIfAbsent(cause.getClass().getSimpleName(), k -> new LongAdder()).increment();
+        } else {
+            statusCodes.computeIfAbsent(response.getStatusCode(), k -> new LongAdder()).increment();
+        }
+    }
+
+    LoadReport.StageReport toReport(String name, boolean warmUp) {
+        long requests = responseTime.getCount();
+        double seconds = requests == 0 ? 0 : (lastEnd.get() - firstStart.get()) / 1e9;
+        return LoadReport.StageReport.builder()
+                .name(name)
+                .warmUp(warmUp)
+                .requests(requests)
+                .durationSeconds(seconds)
+                .throughput(seconds > 0 ? requests / seconds : 0)
+                .responseTime(responseTime.summary())
+                .serviceTime(serviceTime.summary())
+                .statusCodes(sum(statusCodes))
+                .errors(sum(errors))
+                .build();
+    }
+
+    private static <K> Map<K, Long> sum(Map<K, LongAdder> counters) {
+        Map<K, Long> sums = new TreeMap<>();
+        counters.forEach((key, counter) -> sums.put(key, counter.sum()));
+        return sums;
+    }
+}
@@ -0,0 +1,175 @@
+package in.zeta.qa.utils.rest.metrics;
+
+import in.zeta.qa.constants.endpoints.ApiEndpoint;
+import in.zeta.qa.utils.rest.ApiRequest;
+import in.zeta.qa.utils.rest.metrics.RequestTimings.Phase;
+
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Process-wide latency statistics, aggregated per {@link ApiEndpoint}.
+ * <p>
+ * Every request executed through {@link in.zeta.qa.utils.rest.pipeline.HttpPipeline} is recorded here;
+ * {@link in.zeta.qa.utils.testListeners.HttpMetricsListener} dumps the {@link #summary()} at suite end.
+ */
+public final class HttpMetrics {
+
+    private static final String NO_ENDPOINT = "(no endpoint)";
+    private static final String POOLS = "(connection pools)";
+    private static final Map<String, EndpointMetrics> ENDPOINTS = new ConcurrentHashMap<>();
+    private static final Map<String, Supplier<Map<String, ? extends Number>>> POOL_GAUGES = new ConcurrentHashMap<>();
+
+    private HttpMetrics() {
+        // prevent instantiation
+    }
+
+    public static void record(ApiRequest<?> request, RequestTimings timings) {
+        EndpointMetrics metrics = forEndpoint(request.getEndpoint());
+        for (Phase phase : Phase.values()) {
+            if (timings.isRecorded(phase)) metrics.histogram(phase).recordNanos(timings.getNanos(phase));
+        }
+    }
+
+    public static void increment(ApiRequest<?> request, Counter counter) {
+        forEndpoint(request.getEndpoint()).counters.get(counter).increment();
+    }
+
+    public static void add(ApiRequest<?> request, Counter counter, long amount) {
+        forEndpoint(request.getEndpoint()).counters.get(counter).add(amount);
+    }
+
+    public static EndpointMetrics forEndpoint(ApiEndpoint endpoint) {
+        return ENDPOINTS.computeIfAbsent(keyOf(endpoint), k -> new EndpointMetrics());
+    }
+
+    /**
+     * Registers a live view of a client's connection pool (active/idle connections, queued calls, ...), read on every
+     * {@link #poolStats()}.
+     */
+    public static void registerPool(String client, Supplier<Map<String, ? extends Number>> gauges) {
+        POOL_GAUGES.put(client, gauges);
+    }
+
+    /**
+     * @return client -> current pool gauges
+     */
+    public static Map<String, Object> poolStats() {
+        Map<String, Object> pools = new TreeMap<>();
+        POOL_GAUGES.forEach((client, gauges) -> pools.put(client, new TreeMap<>(gauges.get())));
+        return pools;
+    }
+
+    /**
+     * Stable name of an endpoint: {@code JenkinsEndpoints.GET_BUILD_INFO} for enum endpoints, the path otherwise.
+     */
+    public static String keyOf(ApiEndpoint endpoint) {
+        if (endpoint == null) return NO_ENDPOINT;
+        if (endpoint instanceof Enum<?> constant) {
+            return constant.getDeclaringClass().getSimpleName() + "." + constant.name();
+        }
+        return endpoint.getClass().getSimpleName() + " " + endpoint.getPath();
+    }
+
+    /**
+     * Per-endpoint event counters maintained by the pipeline layers.
+     */
+    public enum Counter {
+        /** Calls that failed without a response. */
+        FAILURES,
+        /** Requests served by an identical in-flight call instead of their own. */
+        COALESCED_HITS,
+        CACHE_HITS,
+        CACHE_MISSES,
+        /** Stale cache entries confirmed by a 304 Not Modified. */
+        CACHE_REVALIDATIONS,
+        /** Retries sent on behalf of {@link in.zeta.qa.constants.anotation.RetryOnFailure}. */
+        RETRIES,
+        /** Retries not sent because the host's retry budget was exhausted. */
+        RETRIES_DENIED,
+        /** Time spent in failed attempts and retry delays before the final attempt. */
+        RETRY_WASTED_MILLIS,
+        CIRCUIT_OPENED,
+        CIRCUIT_HALF_OPENED,
+        CIRCUIT_CLOSED,
+        /** Requests failed fast by an open circuit. */
+        CIRCUIT_REJECTED,
+        /** Duplicate requests sent because the first attempt was slower than the endpoint's hedge percentile. */
+        HEDGES,
+        /** Hedges that answered before the original attempt. */
+        HEDGE_WINS,
+        /** Hedges not sent because the endpoint's hedge budget was exhausted. */
+        HEDGES_DENIED,
+        /** Requests held back by a client-side rate limit. */
+        RATE_LIMIT_WAITS,
+        RATE_LIMIT_WAIT_MILLIS,
+        /** Multipart part content sent; with {@link #UPLOAD_MILLIS} gives the upload throughput. */
+        UPLOADED_BYTES,
+        UPLOAD_MILLIS,
+        /** Request bodies before gzip, counted for compressed requests only. */
+        REQUEST_BYTES,
+        REQUEST_WIRE_BYTES,
+        /** Response bodies after inflating, against {@link #RESPONSE_WIRE_BYTES} as received. */
+        RESPONSE_BYTES,
+        RESPONSE_WIRE_BYTES
+    }
+
+    /**
+     * @return endpoint -> {non-zero counters, phase -> histogram summary}, sorted by endpoint name, plus the current
+     * connection pool gauges
+     */
+    public static Map<String, Object> summary() {
+        Map<String, Object> summary = new TreeMap<>();
+        ENDPOINTS.forEach((endpoint, metrics) -> summary.put(endpoint, metrics.summary()));
+        if (!summary.isEmpty() && !POOL_GAUGES.isEmpty()) summary.put(POOLS, poolStats());
+        return summary;
+    }
+
+    public static void reset() {
+        ENDPOINTS.clear();
+    }
+
+    /**
+     * Histograms of one endpoint, one per {@link Phase}, and its {@link Counter}s.
+     */
+    public static final class EndpointMetrics {
+        private final Map<Phase, LatencyHistogram> histograms = new EnumMap<>(Phase.class);
+        private final Map<Counter, LongAdder> counters = new EnumMap<>(Counter.class);
+
+        private EndpointMetrics() {
+            for (Phase phase : Phase.values()) histograms.put(phase, new LatencyHistogram());
+            for (Counter counter : Counter.values()) counters.put(counter, new LongAdder());
+        }
+
+        public LatencyHistogram histogram(Phase phase) {
+            return histograms.get(phase);
+        }
+
+        public long getCount(Counter counter) {
+            return counters.get(counter).sum();
+        }
+
+        private Map<String, Object> summary() {
+            Map<String, Object> summary = new LinkedHashMap<>();
+            counters.forEach((counter, adder) -> {
+                if (adder.sum() > 0) summary.put(counter.name(), adder.sum());
+            });
+            putRatio(summary, "REQUEST_COMPRESSION_RATIO", Counter.REQUEST_BYTES, Counter.REQUEST_WIRE_BYTES);
+            putRatio(summary, "RESPONSE_COMPRESSION_RATIO", Counter.RESPONSE_BYTES, Counter.RESPONSE_WIRE_BYTES);
+            histograms.forEach((phase, histogram) -> {
+                if (histogram.getCount() > 0) summary.put(phase.name(), histogram.summary());
+            });
+            return summary;
+        }
+
+        private void putRatio(Map<String, Object> summary, String name, Counter bytes, Counter wireBytes) {
+            long wire = getCount(wireBytes);
+            if (wire > 0) summary.put(name, Math.round(getCount(bytes) * 100.0 / wire) / 100.0);
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package in.zeta.qa.utils.rest.metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free, fixed-memory latency histogram in the spirit of HdrHistogram.
+ * <p>
+ * Values are recorded in microseconds into log-linear buckets: exact below 128us, and 64 linear sub-buckets per
+ * power of two above that, so every reported percentile is within ~1.6% of the true value. Values above
+ * ~19 hours are clamped. Each instance uses a fixed ~16KB regardless of how many values are recorded.
+ */
+public final class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 7;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;   // exact range [0, 128)
+    private static final int SUB_BUCKET_HALF = SUB_BUCKET_COUNT / 2;    // linear steps per power of two above it
+    private static final long MAX_TRACKABLE_MICROS = (1L << 36) - 1;
+    private static final int BUCKETS = indexOf(MAX_TRACKABLE_MICROS) + 1;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final LongAdder totalCount = new LongAdder();
+    private final LongAdder totalMicros = new LongAdder();
+    private final LongAccumulator maxMicros = new LongAccumulator(Math::max, 0);
+
+    public void recordNanos(long nanos) {
+        recordMicros(TimeUnit.NANOSECONDS.toMicros(nanos));
+    }
+
+    public void recordMicros(long micros) {
+        long value = Math.min(Math.max(micros, 0), MAX_TRACKABLE_MICROS);
+        counts.incrementAndGet(indexOf(value));
+        totalCount.increment();
+        totalMicros.add(value);
+        maxMicros.accumulate(value);
+    }
+
+    public long getCount() {
+        return totalCount.sum();
+    }
+
+    public long getMaxMicros() {
+        return maxMicros.get();
+    }
+
+    public double getMeanMicros() {
+        long count = getCount();
+        return count == 0 ? 0 : (double) totalMicros.sum() / count;
+    }
+
+    /**
+     * @param percentile value in {@code [0, 100]}
+     * @return the recorded value at the given percentile (upper bound of its bucket), 0 when empty
+     */
+    public long getPercentileMicros(double percentile) {
+        long count = getCount();
+        if (count == 0) return 0;
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100d * count));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts.get(i);
+            if (seen >= rank) return Math.min(highestEquivalentValue(i), getMaxMicros());
+        }
+        return getMaxMicros();
+    }
+
+    public Summary summary() {
+        return new Summary(getCount(), getMeanMicros() / 1000d,
+                getPercentileMicros(50) / 1000d, getPercentileMicros(90) / 1000d,
+                getPercentileMicros(99) / 1000d, getMaxMicros() / 1000d);
+    }
+
+    /**
+     * Point-in-time view of a histogram, all latencies in milliseconds.
+     */
+    public record Summary(long count, double mean, double p50, double p90, double p99, double max) { }
+
+    // ---------------------
+    // Bucket arithmetic
+    // ---------------------
+
+    private static int indexOf(long value) {
+        if (value < SUB_BUCKET_COUNT) return (int) value;
+        // keep the top 7 significant bits: shift >= 1, sub-bucket in [64, 128)
+        int shift = (63 - Long.numberOfLeadingZeros(value)) - (SUB_BUCKET_BITS - 1);
+        int subBucket = (int) (value >>> shift);
+        return SUB_BUCKET_COUNT + (shift - 1) * SUB_BUCKET_HALF + (subBucket - SUB_BUCKET_HALF);
+    }
+
+    private static long highestEquivalentValue(int index) {
+        if (index < SUB_BUCKET_COUNT) return index;
+        int offset = index - SUB_BUCKET_COUNT;
+        int shift = offset / SUB_BUCKET_HALF + 1;
+        long subBucket = offset % SUB_BUCKET_HALF + SUB_BUCKET_HALF;
+        return ((subBucket + 1) << shift) - 1;
+    }
+}
@@ -0,0 +1,58 @@
+package in.zeta.qa.utils.rest.metrics;
+
+import in.zeta.qa.utils.rest.ApiRequest;
+import in.zeta.qa.utils.rest.ApiResponse;
+import in.zeta.qa.utils.rest.HttpClientService;
+import in.zeta.qa.utils.rest.HttpCompression;
+import in.zeta.qa.utils.rest.pipeline.ForwardingHttpClientService;
+import in.zeta.qa.utils.rest.metrics.HttpMetrics.Counter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Pipeline layer feeding {@link HttpMetrics} with the phase timings and body sizes of every response. Clients that
+ * do not attach {@link ApiResponse#getTimings()} are measured end-to-end here.
+ */
+@Slf4j
+public class MetricsHttpClientService extends ForwardingHttpClientService {
+
+    public MetricsHttpClientService(HttpClientService delegate) {
+        super(delegate);
+    }
+
+    @Override
+    public ApiResponse execute(ApiRequest<?> request) {
+        long start = System.nanoTime();
+        try {
+            ApiResponse response = delegate.execute(request);
+            record(request, response, start);
+            return response;
+        } catch (RuntimeException | Error e) {
+            HttpMetrics.increment(request, Counter.FAILURES);
+            throw e;
+        }
+    }
+
+    @Override
+    public CompletableFuture<ApiResponse> executeAsync(ApiRequest<?> request) {
+        long start = System.nanoTime();
+        CompletableFuture<ApiResponse> future = delegate.executeAsync(request);
+        return cancelling(future, future.whenComplete((response, error) -> {
+            if (error == null) {
+                record(request, response, start);
+            } else if (!future.isCancelled()) {   // abandoned (e.g. a losing hedge), not failed
+                HttpMetrics.increment(request, Counter.FAILURES);
+            }
+        }));
+    }
+
+    private void record(ApiRequest<?> request, ApiResponse response, long start) {
+        RequestTimings timings = response.getTimings() != null
+                ? response.getTimings() : RequestTimings.ofTotal(System.nanoTime() - start);
+        HttpMetrics.record(request, timings);
+        HttpCompression.record(request, response);
+        log.debug("{} {} -> {} {}", request.getMethod(), HttpMetrics.keyOf(request.getEndpoint()),
+                response.getStatusCode(), timings);
+    }
+}
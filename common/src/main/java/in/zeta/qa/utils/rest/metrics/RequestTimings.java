@@ -0,0 +1,80 @@
+package in.zeta.qa.utils.rest.metrics;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Immutable per-request phase timings, exposed via {@link in.zeta.qa.utils.rest.ApiResponse#getTimings()}.
+ * <p>
+ * Not every client can observe every phase: OkHttp reports all of them, the JDK client reports time-to-first-byte
+ * and body transfer, RestAssured only the total. Phases that were not observed (or did not happen, e.g. DNS and
+ * connect on a pooled connection) report {@code -1}.
+ */
+public final class RequestTimings {
+
+    public enum Phase {
+        DNS,
+        CONNECT,
+        TLS,
+        /** From the moment the request is written until the response headers arrive. */
+        TIME_TO_FIRST_BYTE,
+        /** Reading the response body. */
+        BODY_TRANSFER,
+        TOTAL
+    }
+
+    static final long NOT_RECORDED = -1;
+
+    private final long[] nanos;
+
+    RequestTimings(long[] nanos) {
+        this.nanos = nanos;
+    }
+
+    /**
+     * @return timings carrying only the total, for clients that cannot observe individual phases
+     */
+    public static RequestTimings ofTotal(long totalNanos) {
+        long[] nanos = new long[Phase.values().length];
+        Arrays.fill(nanos, NOT_RECORDED);
+        nanos[Phase.TOTAL.ordinal()] = totalNanos;
+        return new RequestTimings(nanos);
+    }
+
+    public long getNanos(Phase phase) {
+        return nanos[phase.ordinal()];
+    }
+
+    public boolean isRecorded(Phase phase) {
+        return nanos[phase.ordinal()] != NOT_RECORDED;
+    }
+
+    /**
+     * @return the phase duration, or {@code null} when it was not recorded
+     */
+    public Duration get(Phase phase) {
+        return isRecorded(phase) ? Duration.ofNanos(getNanos(phase)) : null;
+    }
+
+    public Duration getTotal() {
+        return get(Phase.TOTAL);
+    }
+
+    /**
+     * @return recorded phases in milliseconds, in phase order
+     */
+    public Map<String, Double> toMillis() {
+        Map<String, Double> millis = new LinkedHashMap<>();
+        for (Phase phase : Phase.values()) {
+            if (isRecorded(phase)) millis.put(phase.name(), getNanos(phase) / 1_000_000d);
+        }
+        return millis;
+    }
+
+    @Override
+    public String toString() {
+        return "RequestTimings" + toMillis();
+    }
+}
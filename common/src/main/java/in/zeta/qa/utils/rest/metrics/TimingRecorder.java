@@ -0,0 +1,47 @@
+package in.zeta.qa.utils.rest.metrics;
+
+import in.zeta.qa.utils.rest.metrics.RequestTimings.Phase;
+
+import java.util.Arrays;
+
+/**
+ * Mutable stopwatch for the phases of a single request, filled in by the client-specific hooks (OkHttp
+ * {@code EventListener}, RestAssured filter, JDK body handler) and frozen into {@link RequestTimings}.
+ * <p>
+ * Callbacks for one call may come from different threads (never concurrently), the methods are synchronized for
+ * visibility only. Phases that repeat (e.g. connect on a retried route) accumulate.
+ */
+public final class TimingRecorder {
+
+    private final long startNanos = System.nanoTime();
+    private final long[] started = new long[Phase.values().length];
+    private final long[] elapsed = new long[Phase.values().length];
+
+    public TimingRecorder() {
+        Arrays.fill(elapsed, RequestTimings.NOT_RECORDED);
+    }
+
+    public synchronized void start(Phase phase) {
+        started[phase.ordinal()] = System.nanoTime();
+    }
+
+    public synchronized void end(Phase phase) {
+        long start = started[phase.ordinal()];
+        if (start == 0) return;
+        long previous = Math.max(elapsed[phase.ordinal()], 0);
+        elapsed[phase.ordinal()] = previous + (System.nanoTime() - start);
+        started[phase.ordinal()] = 0;
+    }
+
+    /**
+     * Freezes the recorded phases; unless it was measured explicitly, {@link Phase#TOTAL} is the time since this
+     * recorder was created.
+     */
+    public synchronized RequestTimings snapshot() {
+        long[] nanos = elapsed.clone();
+        if (nanos[Phase.TOTAL.ordinal()] == RequestTimings.NOT_RECORDED) {
+            nanos[Phase.TOTAL.ordinal()] = System.nanoTime() - startNanos;
+        }
+        return new RequestTimings(nanos);
+    }
+}
@@ -0,0 +1,42 @@
+package in.zeta.qa.utils.rest.ok_http;
+
+import in.zeta.qa.utils.rest.MultipartUpload;
+import okhttp3.MediaType;
+import okhttp3.RequestBody;
+import okio.BufferedSink;
+import okio.Okio;
+import okio.Source;
+
+import java.io.IOException;
+
+/**
+ * Multipart body copied from the upload's stream into OkHttp's sink as the request is written; sent with a
+ * {@code Content-Length} when every part declares its length, chunked otherwise.
+ */
+class MultipartRequestBody extends RequestBody {
+
+    private final MultipartUpload upload;
+    private final MediaType contentType;
+
+    MultipartRequestBody(MultipartUpload upload) {
+        this.upload = upload;
+        this.contentType = MediaType.parse(upload.getContentType());
+    }
+
+    @Override
+    public MediaType contentType() {
+        return contentType;
+    }
+
+    @Override
+    public long contentLength() {
+        return upload.contentLength();
+    }
+
+    @Override
+    public void writeTo(BufferedSink sink) throws IOException {
+        try (Source source = Okio.source(upload.openStream())) {
+            sink.writeAll(source);
+        }
+    }
+}
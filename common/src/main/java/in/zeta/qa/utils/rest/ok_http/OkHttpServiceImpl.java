@@ -1,128 +1,181 @@
 package in.zeta.qa.utils.rest.ok_http;
 
 import in.zeta.qa.utils.cuncurrency.SingletonFactory;
-import in.zeta.qa.utils.misc.JsonHelper;
 import in.zeta.qa.utils.rest.ApiRequest;
 import in.zeta.qa.utils.rest.ApiResponse;
+import in.zeta.qa.utils.rest.HeaderSet;
 import in.zeta.qa.utils.rest.HttpClientService;
+import in.zeta.qa.utils.rest.HttpCompression;
+import in.zeta.qa.utils.rest.HttpPoolSettings;
+import in.zeta.qa.utils.rest.HttpTimeouts;
+import in.zeta.qa.utils.rest.MultipartUpload;
+import in.zeta.qa.utils.rest.metrics.HttpMetrics;
+import in.zeta.qa.utils.rest.metrics.TimingRecorder;
 import okhttp3.*;
 
-import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
-import java.time.Duration;
-import java.util.List;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
 
 public class OkHttpServiceImpl implements HttpClientService {
 
-    public OkHttpServiceImpl() {};
+    private OkHttpServiceImpl() { }   // prevent external new
 
     public static OkHttpServiceImpl getInstance() {
         return SingletonFactory.getInstance(OkHttpServiceImpl.class);
     }
 
+    private static final ConnectionPool CONNECTION_POOL = new ConnectionPool(
+            HttpPoolSettings.MAX_CONNECTIONS, HttpPoolSettings.KEEP_ALIVE.toSeconds(), TimeUnit.SECONDS);
+    private static final Dispatcher DISPATCHER = createDispatcher();
+
     private static final OkHttpClient CLIENT = new OkHttpClient.Builder()
-            .callTimeout(Duration.ofSeconds(60))
-            .connectTimeout(Duration.ofSeconds(20))
-            .readTimeout(Duration.ofSeconds(60))
-            .writeTimeout(Duration.ofSeconds(60))
+            .connectionPool(CONNECTION_POOL)
+            .dispatcher(DISPATCHER)
+            .callTimeout(HttpTimeouts.REQUEST)
+            .connectTimeout(HttpTimeouts.CONNECT)
+            .readTimeout(HttpTimeouts.REQUEST)
+            .writeTimeout(HttpTimeouts.REQUEST)
+            .eventListenerFactory(OkHttpTimingListener.FACTORY)
             .build();
 
+    static {
+        HttpMetrics.registerPool("okhttp", () -> {
+            int connections = CONNECTION_POOL.connectionCount();
+            int idle = CONNECTION_POOL.idleConnectionCount();
+            return Map.of("activeConnections", connections - idle, "idleConnections", idle,
+                    "runningCalls", DISPATCHER.runningCallsCount(), "queuedCalls", DISPATCHER.queuedCallsCount());
+        });
+    }
+
+    private static Dispatcher createDispatcher() {
+        Dispatcher dispatcher = new Dispatcher();
+        dispatcher.setMaxRequests(HttpPoolSettings.MAX_REQUESTS);
+        dispatcher.setMaxRequestsPerHost(HttpPoolSettings.MAX_REQUESTS_PER_HOST);
+        return dispatcher;
+    }
+
+    private static final Function<HeaderSet, Headers> OK_HTTP_HEADERS = Headers::of;
+    private static final Headers NO_HEADERS = new Headers.Builder().build();
     private static final MediaType JSON = MediaType.parse("application/json; charset=utf-8");
-    private static final MediaType OCTET = MediaType.parse("application/octet-stream");
 
 
     @Override
     public ApiResponse execute(ApiRequest<?> request) {
-        String baseUrl = buildUrl(request);
-        HttpUrl url = addQueryParams(baseUrl, request.getQueryParams());
-        Headers headers = request.getHeaders() != null
-                ? Headers.of(request.getHeaders()) : new Headers.Builder().build();
-
-        RequestBody requestBody = buildRequestBody(request);
-        Request okRequest = new Request.Builder()
-                .url(url)
-                .headers(headers)
-                .method(request.getMethod().name(), requestBody)
-                .build();
-
-        try (Response response = CLIENT.newCall(okRequest).execute()) {
-            String responseBody = response.body() != null ? response.body().string() : "";
-            Map<String, List<String>> respHeaders = response.headers().toMultimap();
-            return ApiResponse.builder()
-                    .statusCode(response.code())
-                    .body(responseBody)
-                    .headers(respHeaders)
-                    .build();
+        TimingRecorder recorder = new TimingRecorder();
+        try (Response response = newCall(request, recorder).execute()) {
+            return toApiResponse(request, response, recorder);
         } catch (IOException e) {
             // Consider wrapping in runtime exception or returning error ApiResponse
             throw new RuntimeException("OkHttp call failed: " + e.getMessage(), e);
         }
     }
 
-    private HttpUrl addQueryParams(String baseUrl, Map<String, Object> queryParams) {
-        HttpUrl parsed = HttpUrl.parse(baseUrl);
-        if (parsed == null) throw new IllegalArgumentException("Invalid URL: " + baseUrl);
-        if (queryParams == null || queryParams.isEmpty()) return parsed;
+    @Override
+    public CompletableFuture<ApiResponse> executeAsync(ApiRequest<?> request) {
+        TimingRecorder recorder = new TimingRecorder();
+        Call call = newCall(request, recorder);
+        CompletableFuture<ApiResponse> future = new CompletableFuture<>();
+        // cancelling the future (e.g. losing a race) releases the underlying connection
+        future.whenComplete((response, error) -> {
+            if (future.isCancelled()) call.cancel();
+        });
+        call.enqueue(new Callback() {
+            @Override
+            public void onFailure(Call failedCall, IOException e) {
+                future.completeExceptionally(new RuntimeException("OkHttp call failed: " + e.getMessage(), e));
+            }
 
-        HttpUrl.Builder b = parsed.newBuilder();
-        for (var e : queryParams.entrySet()) {
-            String key = e.getKey();
-            Object val = e.getValue();
-            b.addQueryParameter(key, val == null ? null : String.valueOf(val));
-        }
-        return b.build();
+            @Override
+            public void onResponse(Call successfulCall, Response response) {
+                try (response) {
+                    future.complete(toApiResponse(request, response, recorder));
+                } catch (IOException e) {
+                    future.completeExceptionally(new RuntimeException("OkHttp call failed: " + e.getMessage(), e));
+                }
+            }
+        });
+        return future;
     }
 
-    private RequestBody buildRequestBody(ApiRequest<?> request) {
-        if (request.getBody() == null) return null;
-
-        // If multipart (files), build multipart
-        if (request.getFiles() != null && !request.getFiles().isEmpty()) {
-            return buildMultipartBody(request.getBody(), request.getFormParams(), request.getFiles());
-        }
-        // If form params exist, build form-encoded
-        if (request.getFormParams() != null && !request.getFormParams().isEmpty()) {
-            FormBody.Builder fb = new FormBody.Builder(StandardCharsets.UTF_8);
-            request.getFormParams().forEach((k, v) -> fb.add(k, v == null ? "" : String.valueOf(v)));
-            return fb.build();
+    private Call newCall(ApiRequest<?> request, TimingRecorder recorder) {
+        Call call = CLIENT.newCall(buildRequest(request, recorder));
+        if (request.getTimeout() != null) {
+            // replaces the client's call timeout for this call only; connect/read/write limits stay as configured
+            call.timeout().timeout(request.getTimeout().toMillis(), TimeUnit.MILLISECONDS);
         }
+        return call;
+    }
 
-        MediaType mt = contentTypeFromHeaders(request.getHeaders());
-        if (request.getBody() instanceof String s) {
-            return RequestBody.create(mt != null ? mt : JSON, s);
+    private Request buildRequest(ApiRequest<?> request, TimingRecorder recorder) {
+        String rawUrl = buildUrl(request);
+        HttpUrl url = HttpUrl.parse(rawUrl);
+        if (url == null) throw new IllegalArgumentException("Invalid URL: " + rawUrl);
+        Headers headers;
+        if (request.getHeaders() instanceof HeaderSet headerSet) {
+            headers = headerSet.as(OK_HTTP_HEADERS);
+        } else {
+            headers = request.getHeaders() != null ? Headers.of(request.getHeaders()) : NO_HEADERS;
         }
-        String json = new JsonHelper().convertObjectToJsonString(request.getBody());
-        return RequestBody.create(mt != null ? mt : JSON, json);
-    }
 
-    private RequestBody buildMultipartBody(Object body, Map<String, Object> formParams, List<File> files) {
-        MultipartBody.Builder mb = new MultipartBody.Builder().setType(MultipartBody.FORM);
+        Request.Builder builder = new Request.Builder()
+                .url(url)
+                .headers(headers)
+                .tag(TimingRecorder.class, recorder);
+        // set explicitly, OkHttp then leaves the body compressed and ApiResponse inflates it on first access
+        if (HttpCompression.negotiates(request)) builder.header("Accept-Encoding", HttpCompression.ACCEPT_ENCODING);
 
-        // Add form fields
-        if (formParams != null) {
-            formParams.forEach((k, v) -> mb.addFormDataPart(k, v == null ? "" : String.valueOf(v)));
-        }
+        MediaType mt = contentTypeFromHeaders(request.getHeaders());
+        HttpCompression.EncodedBody encoded = HttpCompression.encodeBody(request, mt != null ? mt.toString() : null);
+        if (encoded == null) return builder.method(request.getMethod().name(), buildRequestBody(request)).build();
+
+        if (encoded.gzipped()) builder.header("Content-Encoding", HttpCompression.GZIP);
+        MediaType type = mt != null ? mt : JSON;
+        // a plain String body keeps OkHttp appending "charset=utf-8" to the content type
+        RequestBody body = request.getBody() instanceof String s && !encoded.gzipped()
+                ? RequestBody.create(type, s) : RequestBody.create(type, encoded.bytes());
+        return builder.method(request.getMethod().name(), body).build();
+    }
 
-        // If body exists and is a Map, treat as extra fields (optional)
-        if (body instanceof Map<?, ?> mapBody) {
-            for (var e : mapBody.entrySet()) {
-                if (e.getKey() != null) {
-                    mb.addFormDataPart(String.valueOf(e.getKey()),
-                            e.getValue() == null ? "" : String.valueOf(e.getValue()));
-                }
+    private ApiResponse toApiResponse(ApiRequest<?> request, Response response, TimingRecorder recorder)
+            throws IOException {
+        ApiResponse.ApiResponseBuilder builder = ApiResponse.builder()
+                .statusCode(response.code())
+                .headers(response.headers().toMultimap());
+        ResponseBody body = response.body();
+        if (body == null) return builder.timings(recorder.snapshot()).build();
+
+        MediaType contentType = body.contentType();
+        builder.charset(contentType != null ? contentType.charset(StandardCharsets.UTF_8) : StandardCharsets.UTF_8);
+        if (request.getDownloadTo() != null) {
+            try (InputStream in = body.byteStream()) {
+                Files.copy(in, request.getDownloadTo(), StandardCopyOption.REPLACE_EXISTING);
             }
+            return builder.bodyFile(request.getDownloadTo()).timings(recorder.snapshot()).build();
         }
+        return builder.bodyBytes(body.bytes()).contentEncoding(response.header("Content-Encoding"))
+                .timings(recorder.snapshot()).build();
+    }
 
-        // Add files
-        for (File f : files) {
-            if (f == null) continue;
-            RequestBody fileBody = RequestBody.create(OCTET, f);
-            mb.addFormDataPart("file", f.getName(), fileBody); // field name "file" (customize if needed)
-        }
+    private RequestBody buildRequestBody(ApiRequest<?> request) {
+        // If multipart (files/parts), stream the parts
+        MultipartUpload upload = MultipartUpload.of(request);
+        if (upload != null) return new MultipartRequestBody(upload);
 
-        return mb.build();
+        if (request.getBody() == null) return null;
+        // If form params exist, build form-encoded
+        if (request.getFormParams() != null && !request.getFormParams().isEmpty()) {
+            FormBody.Builder fb = new FormBody.Builder(StandardCharsets.UTF_8);
+            request.getFormParams().forEach((k, v) -> fb.add(k, v == null ? "" : String.valueOf(v)));
+            return fb.build();
+        }
+        return null;
     }
 
     private MediaType contentTypeFromHeaders(Map<String, String> headers) {
@@ -0,0 +1,89 @@
+package in.zeta.qa.utils.rest.ok_http;
+
+import in.zeta.qa.utils.rest.metrics.RequestTimings.Phase;
+import in.zeta.qa.utils.rest.metrics.TimingRecorder;
+import okhttp3.Call;
+import okhttp3.EventListener;
+import okhttp3.Handshake;
+import okhttp3.Protocol;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Proxy;
+import java.util.List;
+
+/**
+ * Feeds the OkHttp call events into the {@link TimingRecorder} attached to the request as a tag.
+ * Calls without a recorder get {@link EventListener#NONE}.
+ */
+class OkHttpTimingListener extends EventListener {
+
+    static final EventListener.Factory FACTORY = call -> {
+        TimingRecorder recorder = call.request().tag(TimingRecorder.class);
+        return recorder != null ? new OkHttpTimingListener(recorder) : EventListener.NONE;
+    };
+
+    private final TimingRecorder recorder;
+
+    private OkHttpTimingListener(TimingRecorder recorder) {
+        this.recorder = recorder;
+    }
+
+    @Override
+    public void dnsStart(Call call, String domainName) {
+        recorder.start(Phase.DNS);
+    }
+
+    @Override
+    public void dnsEnd(Call call, String domainName, List<InetAddress> inetAddressList) {
+        recorder.end(Phase.DNS);
+    }
+
+    @Override
+    public void connectStart(Call call, InetSocketAddress inetSocketAddress, Proxy proxy) {
+        recorder.start(Phase.CONNECT);
+    }
+
+    @Override
+    public void secureConnectStart(Call call) {
+        recorder.start(Phase.TLS);
+    }
+
+    @Override
+    public void secureConnectEnd(Call call, Handshake handshake) {
+        recorder.end(Phase.TLS);
+    }
+
+    @Override
+    public void connectEnd(Call call, InetSocketAddress inetSocketAddress, Proxy proxy, Protocol protocol) {
+        recorder.end(Phase.CONNECT);
+    }
+
+    @Override
+    public void connectFailed(Call call, InetSocketAddress inetSocketAddress, Proxy proxy, Protocol protocol,
+                              IOException ioe) {
+        recorder.end(Phase.CONNECT);
+    }
+
+    @Override
+    public void requestHeadersStart(Call call) {
+        // a follow-up after a redirect or auth challenge adds to the same phase
+        recorder.start(Phase.TIME_TO_FIRST_BYTE);
+    }
+
+    @Override
+    public void responseHeadersStart(Call call) {
+        recorder.end(Phase.TIME_TO_FIRST_BYTE);
+    }
+
+    @Override
+    public void responseBodyStart(Call call) {
+        recorder.start(Phase.BODY_TRANSFER);
+    }
+
+    @Override
+    public void responseBodyEnd(Call call, long byteCount) {
+        recorder.end(Phase.BODY_TRANSFER);
+    }
+}
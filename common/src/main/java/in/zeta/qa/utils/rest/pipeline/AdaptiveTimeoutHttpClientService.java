@@ -0,0 +1,121 @@
+package in.zeta.qa.utils.rest.pipeline;
+
+import in.zeta.qa.utils.fileUtils.PropertyFileReader;
+import in.zeta.qa.utils.rest.ApiRequest;
+import in.zeta.qa.utils.rest.ApiResponse;
+import in.zeta.qa.utils.rest.HttpClientService;
+import in.zeta.qa.utils.rest.HttpTimeouts;
+import in.zeta.qa.utils.rest.metrics.HttpMetrics;
+import in.zeta.qa.utils.rest.metrics.LatencyHistogram;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pipeline layer deriving each request's timeout from the recent latency of its endpoint, so a hung call is given
+ * up after a few multiples of what the endpoint normally takes instead of after the global request timeout.
+ * <p>
+ * Enabled with {@code http.timeout.adaptive=true}. The timeout is the {@code http.timeout.adaptive.percentile}
+ * (default 99) of the last full window of {@code http.timeout.adaptive.window} successful calls (default 500;
+ * until the first window is full, of all calls so far), times {@code http.timeout.adaptive.factor} (default 3),
+ * clamped to {@code http.timeout.adaptive.minMillis} (default 1000) and {@code http.timeout.adaptive.maxMillis}
+ * (default the request timeout). Until an endpoint has {@code http.timeout.adaptive.minSamples} (default 20) samples
+ * the configured timeout applies. Requests with an explicit {@link ApiRequest#getTimeout() timeout} keep it.
+ */
+@Slf4j
+public class AdaptiveTimeoutHttpClientService extends ForwardingHttpClientService {
+
+    private static final boolean ENABLED = PropertyFileReader.getBooleanSetting("http.timeout.adaptive", false);
+    private static final double PERCENTILE =
+            PropertyFileReader.getDoubleSetting("http.timeout.adaptive.percentile", 99);
+    private static final double FACTOR =
+            PropertyFileReader.getDoubleSetting("http.timeout.adaptive.factor", 3);
+    private static final long MIN_MILLIS = PropertyFileReader.getLongSetting("http.timeout.adaptive.minMillis", 1000);
+    private static final long MAX_MILLIS =
+            PropertyFileReader.getLongSetting("http.timeout.adaptive.maxMillis", HttpTimeouts.REQUEST.toMillis());
+    private static final int MIN_SAMPLES = PropertyFileReader.getIntSetting("http.timeout.adaptive.minSamples", 20);
+    private static final int WINDOW = PropertyFileReader.getIntSetting("http.timeout.adaptive.window", 500);
+    /** The percentile scan is cheap but not free; while learning, the timeout is refreshed every this many samples. */
+    private static final int REFRESH_EVERY = 16;
+
+    private final Map<String, RollingLatency> latencies = new ConcurrentHashMap<>();
+
+    public AdaptiveTimeoutHttpClientService(HttpClientService delegate) {
+        super(delegate);
+    }
+
+    @Override
+    public ApiResponse execute(ApiRequest<?> request) {
+        if (!ENABLED) return delegate.execute(request);
+        RollingLatency latency = latencyOf(request);
+        ApiRequest<?> timed = withTimeout(request, latency);
+        long start = System.nanoTime();
+        ApiResponse response = delegate.execute(timed);
+        latency.record(System.nanoTime() - start);
+        return response;
+    }
+
+    @Override
+    public CompletableFuture<ApiResponse> executeAsync(ApiRequest<?> request) {
+        if (!ENABLED) return delegate.executeAsync(request);
+        RollingLatency latency = latencyOf(request);
+        ApiRequest<?> timed = withTimeout(request, latency);
+        long start = System.nanoTime();
+        CompletableFuture<ApiResponse> call = delegate.executeAsync(timed);
+        call.whenComplete((response, error) -> {
+            if (error == null) latency.record(System.nanoTime() - start);
+        });
+        return call;
+    }
+
+    private RollingLatency latencyOf(ApiRequest<?> request) {
+        return latencies.computeIfAbsent(HttpMetrics.keyOf(request.getEndpoint()), k -> new RollingLatency());
+    }
+
+    private static ApiRequest<?> withTimeout(ApiRequest<?> request, RollingLatency latency) {
+        Duration timeout = latency.timeout;
+        if (request.getTimeout() != null || timeout == null) return request;
+        return request.toBuilder().timeout(timeout).build();
+    }
+
+    /**
+     * Two histograms of successful call latencies: the one being filled and the last full one, which the timeout
+     * is derived from once there is one. Timeouts and errors
+     * are not recorded, they would only tell that the call took at least as long as it was allowed to.
+     */
+    private static final class RollingLatency {
+        private volatile LatencyHistogram current = new LatencyHistogram();
+        private volatile LatencyHistogram previous;
+        private volatile Duration timeout;
+
+        void record(long nanos) {
+            LatencyHistogram histogram = current;
+            histogram.recordNanos(nanos);
+            long count = histogram.getCount();
+            if (count >= WINDOW) {
+                synchronized (this) {
+                    if (current == histogram) {
+                        previous = histogram;
+                        current = new LatencyHistogram();
+                        refresh();
+                    }
+                }
+            } else if (previous == null && count % REFRESH_EVERY == 0) {   // still learning the first window
+                refresh();
+            }
+        }
+
+        private void refresh() {
+            LatencyHistogram histogram = previous != null ? previous : current;
+            if (histogram.getCount() < MIN_SAMPLES) return;
+            long millis = (long) (TimeUnit.MICROSECONDS.toMillis(histogram.getPercentileMicros(PERCENTILE)) * FACTOR);
+            Duration updated = Duration.ofMillis(Math.min(MAX_MILLIS, Math.max(MIN_MILLIS, millis)));
+            if (!updated.equals(timeout)) log.debug("Adaptive timeout -> {} ms", updated.toMillis());
+            timeout = updated;
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package in.zeta.qa.utils.rest.pipeline;
+
+import in.zeta.qa.constants.anotation.CircuitBreaker;
+import in.zeta.qa.utils.rest.ApiRequest;
+import in.zeta.qa.utils.rest.metrics.HttpMetrics;
+import in.zeta.qa.utils.rest.metrics.HttpMetrics.Counter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * State of one circuit: CLOSED counts consecutive failures, OPEN rejects until its timer expires, HALF_OPEN lets a
+ * limited number of probes through; a successful probe closes the circuit, a failed one opens it again.
+ */
+@Slf4j
+final class Circuit {
+
+    enum State { CLOSED, OPEN, HALF_OPEN }
+
+    /** Outcome of {@link #acquire(ApiRequest)}; a probe has to be reported back as such. */
+    enum Permit { REJECTED, CALL, PROBE }
+
+    private final String name;
+    private final CircuitBreaker config;
+
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private int probesInFlight;
+    private long openUntilNanos;
+    private String lastFailure;
+
+    Circuit(String name, CircuitBreaker config) {
+        this.name = name;
+        this.config = config;
+    }
+
+    synchronized Permit acquire(ApiRequest<?> request) {
+        if (state == State.OPEN) {
+            if (System.nanoTime() - openUntilNanos < 0) return Permit.REJECTED;
+            transition(request, State.HALF_OPEN);
+        }
+        if (state == State.HALF_OPEN) {
+            if (probesInFlight >= config.halfOpenProbes()) return Permit.REJECTED;
+            probesInFlight++;
+            return Permit.PROBE;
+        }
+        return Permit.CALL;
+    }
+
+    synchronized void onSuccess(ApiRequest<?> request, Permit permit) {
+        if (permit == Permit.PROBE) probesInFlight--;
+        consecutiveFailures = 0;
+        if (state == State.HALF_OPEN && permit == Permit.PROBE) transition(request, State.CLOSED);
+    }
+
+    synchronized void onFailure(ApiRequest<?> request, Permit permit, String failure) {
+        if (permit == Permit.PROBE) probesInFlight--;
+        lastFailure = failure;
+        consecutiveFailures++;
+        if ((state == State.HALF_OPEN && permit == Permit.PROBE)
+                || (state == State.CLOSED && consecutiveFailures >= config.failureThreshold())) {
+            openUntilNanos = System.nanoTime() + TimeUnit.SECONDS.toNanos(config.openSeconds());
+            transition(request, State.OPEN);
+        }
+    }
+
+    /** The call ended without an outcome (cancelled); only frees the probe slot. */
+    synchronized void onIgnored(Permit permit) {
+        if (permit == Permit.PROBE) probesInFlight--;
+    }
+
+    synchronized String describeOpen() {
+        String prefix = "Circuit " + name + " is " + state + " after " + consecutiveFailures
+                + " consecutive failures (last: " + lastFailure + "), ";
+        if (state == State.HALF_OPEN) return prefix + "failing fast while a probe request is in flight";
+        long remainingMillis = Math.max(0, TimeUnit.NANOSECONDS.toMillis(openUntilNanos - System.nanoTime()));
+        return prefix + "failing fast for another " + remainingMillis + " ms";
+    }
+
+    private void transition(ApiRequest<?> request, State to) {
+        log.warn("Circuit {}: {} -> {}", name, state, to);
+        state = to;
+        if (to == State.CLOSED) consecutiveFailures = 0;
+        HttpMetrics.increment(request, switch (to) {
+            case OPEN -> Counter.CIRCUIT_OPENED;
+            case HALF_OPEN -> Counter.CIRCUIT_HALF_OPENED;
+            case CLOSED -> Counter.CIRCUIT_CLOSED;
+        });
+    }
+}
@@ -0,0 +1,126 @@
+package in.zeta.qa.utils.rest.pipeline;
+
+import in.zeta.qa.constants.anotation.CircuitBreaker;
+import in.zeta.qa.utils.exceptions.CircuitOpenException;
+import in.zeta.qa.utils.fileUtils.PropertyFileReader;
+import in.zeta.qa.utils.rest.ApiRequest;
+import in.zeta.qa.utils.rest.ApiResponse;
+import in.zeta.qa.utils.rest.HttpClientService;
+import in.zeta.qa.utils.rest.metrics.HttpMetrics;
+import in.zeta.qa.utils.rest.metrics.HttpMetrics.Counter;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
+
+/**
+ * Pipeline layer failing requests fast with a {@link CircuitOpenException} while the endpoint's server is known to be
+ * down, so parallel tests stop burning their retry schedules against it (retries do not handle that exception).
+ * <p>
+ * One {@link Circuit} is kept per endpoint and server URL, for endpoints annotated with {@link CircuitBreaker} or
+ * for all of them when {@code http.circuitBreaker.enabled=true}. Transitions are logged and counted per endpoint in
+ * {@link HttpMetrics}, as are rejected requests.
+ */
+public class CircuitBreakerHttpClientService extends ForwardingHttpClientService {
+
+    private static final boolean ALL_ENDPOINTS =
+            PropertyFileReader.getBooleanSetting("http.circuitBreaker.enabled", false);
+    private static final CircuitBreaker DEFAULTS = Defaults.class.getAnnotation(CircuitBreaker.class);
+
+    private final Map<String, Circuit> circuits = new ConcurrentHashMap<>();
+
+    public CircuitBreakerHttpClientService(HttpClientService delegate) {
+        super(delegate);
+    }
+
+    @Override
+    public ApiResponse execute(ApiRequest<?> request) {
+        CircuitBreaker config = configOf(request);
+        if (config == null) return delegate.execute(request);
+        Circuit circuit = circuitOf(request, config);
+        Circuit.Permit permit = acquire(circuit, request);
+        ApiResponse response;
+        try {
+            response = delegate.execute(request);
+        } catch (RuntimeException | Error e) {
+            circuit.onFailure(request, permit, e.toString());
+            throw e;
+        }
+        record(circuit, config, request, permit, response);
+        return response;
+    }
+
+    @Override
+    public CompletableFuture<ApiResponse> executeAsync(ApiRequest<?> request) {
+        CircuitBreaker config = configOf(request);
+        if (config == null) return delegate.executeAsync(request);
+        Circuit circuit = circuitOf(request, config);
+        Circuit.Permit permit;
+        try {
+            permit = acquire(circuit, request);
+        } catch (CircuitOpenException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        CompletableFuture<ApiResponse> call;
+        try {
+            call = delegate.executeAsync(request);
+        } catch (RuntimeException | Error e) {
+            // report the permit back, a leaked probe would keep a HALF_OPEN circuit rejecting forever
+            circuit.onFailure(request, permit, e.toString());
+            throw e;
+        }
+        call.whenComplete((response, error) -> {
+            if (call.isCancelled()) {
+                circuit.onIgnored(permit);
+            } else if (error != null) {
+                Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+                circuit.onFailure(request, permit, cause.toString());
+            } else {
+                record(circuit, config, request, permit, response);
+            }
+        });
+        return call;
+    }
+
+    private static CircuitBreaker configOf(ApiRequest<?> request) {
+        CircuitBreaker annotation = EndpointAnnotations.get(request.getEndpoint(), CircuitBreaker.class);
+        if (annotation != null) return annotation;
+        return ALL_ENDPOINTS ? DEFAULTS : null;
+    }
+
+    private Circuit circuitOf(ApiRequest<?> request, CircuitBreaker config) {
+        String name = HttpMetrics.keyOf(request.getEndpoint()) + " @ " + request.getServerURL();
+        return circuits.computeIfAbsent(name, n -> new Circuit(n, config));
+    }
+
+    private static Circuit.Permit acquire(Circuit circuit, ApiRequest<?> request) {
+        Circuit.Permit permit = circuit.acquire(request);
+        if (permit == Circuit.Permit.REJECTED) {
+            HttpMetrics.increment(request, Counter.CIRCUIT_REJECTED);
+            throw new CircuitOpenException(circuit.describeOpen());
+        }
+        return permit;
+    }
+
+    private static void record(Circuit circuit, CircuitBreaker config, ApiRequest<?> request, Circuit.Permit permit,
+                               ApiResponse response) {
+        if (isFailure(response.getStatusCode(), config.failureStatusCodes())) {
+            circuit.onFailure(request, permit, "HTTP " + response.getStatusCode());
+        } else {
+            circuit.onSuccess(request, permit);
+        }
+    }
+
+    private static boolean isFailure(int statusCode, int[] failureStatusCodes) {
+        if (failureStatusCodes.length == 1 && failureStatusCodes[0] == 0) {
+            return statusCode < 100 || statusCode >= 500;
+        }
+        return IntStream.of(failureStatusCodes).anyMatch(code -> code == statusCode);
+    }
+
+    @CircuitBreaker
+    private static final class Defaults {
+    }
+}
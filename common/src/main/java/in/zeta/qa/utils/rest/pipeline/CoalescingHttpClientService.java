@@ -0,0 +1,145 @@
+package in.zeta.qa.utils.rest.pipeline;
+
+import in.zeta.qa.constants.anotation.Coalesce;
+import in.zeta.qa.utils.fileUtils.PropertyFileReader;
+import in.zeta.qa.utils.misc.ObjectMapperRegistry;
+import in.zeta.qa.utils.misc.ObjectMapperRegistry.Profile;
+import in.zeta.qa.utils.rest.ApiRequest;
+import in.zeta.qa.utils.rest.ApiResponse;
+import in.zeta.qa.utils.rest.HttpClientService;
+import in.zeta.qa.utils.rest.HttpMethod;
+import in.zeta.qa.utils.rest.metrics.HttpMetrics;
+import in.zeta.qa.utils.rest.metrics.HttpMetrics.Counter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Single-flight layer: while a request to a {@link Coalesce}-annotated endpoint is in flight, identical requests
+ * (same method, URL incl. query, credentials and headers) wait for it instead of opening their own call, and all of
+ * them receive the same {@link ApiResponse} (or the same exception). Nothing is cached once the call completed.
+ * <p>
+ * Hits are counted per endpoint in {@link HttpMetrics}. Disable globally with {@code http.coalescing.enabled=false}.
+ * Requests uploading files or downloading to a file are never coalesced. Cancelling the future of a coalesced async
+ * request does not cancel the shared call, other callers may still be waiting on it.
+ */
+@Slf4j
+public class CoalescingHttpClientService extends ForwardingHttpClientService {
+
+    private static final boolean ENABLED = PropertyFileReader.getBooleanSetting("http.coalescing.enabled", true);
+    private static final Set<HttpMethod> SAFE_METHODS = Set.of(HttpMethod.GET, HttpMethod.HEAD, HttpMethod.OPTIONS);
+
+    private final Map<String, CompletableFuture<ApiResponse>> inFlight = new ConcurrentHashMap<>();
+
+    public CoalescingHttpClientService(HttpClientService delegate) {
+        super(delegate);
+    }
+
+    @Override
+    public ApiResponse execute(ApiRequest<?> request) {
+        String key = keyOf(request);
+        if (key == null) return delegate.execute(request);
+
+        CompletableFuture<ApiResponse> call = new CompletableFuture<>();
+        CompletableFuture<ApiResponse> existing = inFlight.putIfAbsent(key, call);
+        if (existing != null) {
+            HttpMetrics.increment(request, Counter.COALESCED_HITS);
+            return await(existing);
+        }
+        try {
+            ApiResponse response = delegate.execute(request);
+            call.complete(response);
+            return response;
+        } catch (RuntimeException | Error e) {
+            call.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, call);
+        }
+    }
+
+    @Override
+    public CompletableFuture<ApiResponse> executeAsync(ApiRequest<?> request) {
+        String key = keyOf(request);
+        if (key == null) return delegate.executeAsync(request);
+
+        CompletableFuture<ApiResponse> call = new CompletableFuture<>();
+        CompletableFuture<ApiResponse> existing = inFlight.putIfAbsent(key, call);
+        if (existing != null) {
+            HttpMetrics.increment(request, Counter.COALESCED_HITS);
+            return existing.copy();
+        }
+        CompletableFuture<ApiResponse> future;
+        try {
+            future = delegate.executeAsync(request);
+        } catch (RuntimeException | Error e) {
+            // a synchronous throw must release the slot, or every later identical request waits on it forever
+            call.completeExceptionally(e);
+            inFlight.remove(key, call);
+            throw e;
+        }
+        future.whenComplete((response, error) -> {
+            inFlight.remove(key, call);
+            if (error == null) {
+                call.complete(response);
+            } else {
+                call.completeExceptionally(error instanceof CompletionException && error.getCause() != null
+                        ? error.getCause() : error);
+            }
+        });
+        return call.copy();
+    }
+
+    /**
+     * @return the coalescing key, or {@code null} when the request must not be coalesced
+     */
+    private String keyOf(ApiRequest<?> request) {
+        if (!ENABLED) return null;
+        Coalesce coalesce = EndpointAnnotations.get(request.getEndpoint(), Coalesce.class);
+        if (coalesce == null) return null;
+        if (request.getDownloadTo() != null || request.isMultipart()) return null;
+        boolean safe = SAFE_METHODS.contains(request.getMethod());
+        if (!safe && !coalesce.includeBody()) return null;
+
+        StringBuilder key = new StringBuilder(128)
+                .append(request.getMethod()).append(' ').append(buildUrl(request))
+                .append('\n').append(request.getUsername()).append(':').append(request.getPassword());
+        if (request.getHeaders() != null) {
+            Map<String, String> headers = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+            headers.putAll(request.getHeaders());
+            Arrays.stream(coalesce.ignoredHeaders()).forEach(headers::remove);
+            key.append('\n').append(headers);
+        }
+        if (!safe) {
+            key.append('\n').append(request.getFormParams()).append('\n').append(bodyKey(request.getBody()));
+        }
+        return key.toString();
+    }
+
+    private static String bodyKey(Object body) {
+        if (body == null || body instanceof String) return (String) body;
+        try {
+            return ObjectMapperRegistry.writer(Profile.DEFAULT).writeValueAsString(body);
+        } catch (Exception e) {
+            log.debug("Body of type {} is not serializable, keying by identity", body.getClass().getName());
+            return body.getClass().getName() + "@" + System.identityHashCode(body);
+        }
+    }
+
+    private static ApiResponse await(CompletableFuture<ApiResponse> call) {
+        try {
+            return call.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtime) throw runtime;
+            if (cause instanceof Error error) throw error;
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package in.zeta.qa.utils.rest.pipeline;
+
+import in.zeta.qa.constants.endpoints.ApiEndpoint;
+
+import java.lang.annotation.Annotation;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Reads pipeline annotations ({@code @Coalesce}, ...) declared on {@link ApiEndpoint} enum constants, falling back
+ * to the enum type itself. Lookups are resolved reflectively once per endpoint and annotation type, then cached.
+ */
+public final class EndpointAnnotations {
+
+    private static final Map<ApiEndpoint, Map<Class<? extends Annotation>, Optional<Annotation>>> CACHE =
+            new ConcurrentHashMap<>();
+
+    private EndpointAnnotations() {
+        // prevent instantiation
+    }
+
+    /**
+     * @return the annotation of the endpoint constant, else of its declaring type, else {@code null}
+     */
+    public static <A extends Annotation> A get(ApiEndpoint endpoint, Class<A> type) {
+        if (endpoint == null) return null;
+        return type.cast(CACHE.computeIfAbsent(endpoint, e -> new ConcurrentHashMap<>())
+                .computeIfAbsent(type, t -> Optional.ofNullable(resolve(endpoint, type)))
+                .orElse(null));
+    }
+
+    private static <A extends Annotation> A resolve(ApiEndpoint endpoint, Class<A> type) {
+        Class<?> declaringType = endpoint.getClass();
+        if (endpoint instanceof Enum<?> constant) {
+            declaringType = constant.getDeclaringClass();
+            try {
+                A onConstant = declaringType.getField(constant.name()).getAnnotation(type);
+                if (onConstant != null) return onConstant;
+            } catch (NoSuchFieldException e) {
+                // not reachable for enum constants
+            }
+        }
+        return declaringType.getAnnotation(type);
+    }
+}
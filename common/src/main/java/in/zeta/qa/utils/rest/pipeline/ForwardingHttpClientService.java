@@ -0,0 +1,47 @@
+package in.zeta.qa.utils.rest.pipeline;
+
+import in.zeta.qa.utils.rest.ApiRequest;
+import in.zeta.qa.utils.rest.ApiResponse;
+import in.zeta.qa.utils.rest.HttpClientService;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Base class for the layers of an {@link HttpPipeline}: forwards everything to the wrapped service, subclasses
+ * override what they need. Layers wrapping only {@link #execute(ApiRequest)} must also handle
+ * {@link #executeAsync(ApiRequest)}, otherwise async requests bypass them.
+ */
+public abstract class ForwardingHttpClientService implements HttpClientService {
+
+    protected final HttpClientService delegate;
+
+    protected ForwardingHttpClientService(HttpClientService delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public ApiResponse execute(ApiRequest<?> request) {
+        return delegate.execute(request);
+    }
+
+    @Override
+    public CompletableFuture<ApiResponse> executeAsync(ApiRequest<?> request) {
+        return delegate.executeAsync(request);
+    }
+
+    @Override
+    public String buildUrl(ApiRequest<?> request) {
+        return delegate.buildUrl(request);
+    }
+
+    /**
+     * Futures derived with {@code thenApply}/{@code whenComplete} do not cancel their source; layers returning a
+     * derived future use this so that cancelling it still releases the underlying call.
+     */
+    protected static <T> CompletableFuture<T> cancelling(CompletableFuture<?> source, CompletableFuture<T> derived) {
+        derived.whenComplete((result, error) -> {
+            if (derived.isCancelled()) source.cancel(true);
+        });
+        return derived;
+    }
+}
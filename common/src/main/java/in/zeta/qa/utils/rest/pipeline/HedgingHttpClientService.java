@@ -0,0 +1,168 @@
+package in.zeta.qa.utils.rest.pipeline;
+
+import in.zeta.qa.constants.anotation.Hedge;
+import in.zeta.qa.utils.fileUtils.PropertyFileReader;
+import in.zeta.qa.utils.rest.ApiRequest;
+import in.zeta.qa.utils.rest.ApiResponse;
+import in.zeta.qa.utils.rest.HttpClientService;
+import in.zeta.qa.utils.rest.HttpExecutors;
+import in.zeta.qa.utils.rest.HttpMethod;
+import in.zeta.qa.utils.rest.metrics.HttpMetrics;
+import in.zeta.qa.utils.rest.metrics.HttpMetrics.Counter;
+import in.zeta.qa.utils.rest.metrics.LatencyHistogram;
+import in.zeta.qa.utils.rest.metrics.RequestTimings.Phase;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pipeline layer hedging requests to {@link Hedge}-annotated endpoints: if the first attempt has not completed
+ * within the configured percentile of the endpoint's {@link Phase#TOTAL} latency (as recorded in
+ * {@link HttpMetrics}), a duplicate is sent; the first response wins and the other attempt is cancelled.
+ * <p>
+ * Hedges are bounded per endpoint by a token bucket: every request deposits {@code http.hedge.budget.ratio} tokens
+ * (default 0.1), a hedge withdraws one, at most {@code http.hedge.budget.maxTokens} (default 5) are kept. Errors
+ * are not hedged, that is what retries are for. Cancelling a request of a blocking client only abandons its
+ * result, the worker thread runs it to completion.
+ */
+@Slf4j
+public class HedgingHttpClientService extends ForwardingHttpClientService {
+
+    private static final double BUDGET_RATIO =
+            PropertyFileReader.getDoubleSetting("http.hedge.budget.ratio", 0.1);
+    private static final double BUDGET_MAX_TOKENS =
+            PropertyFileReader.getDoubleSetting("http.hedge.budget.maxTokens", 5);
+    private static final Set<HttpMethod> SAFE_METHODS = Set.of(HttpMethod.GET, HttpMethod.HEAD, HttpMethod.OPTIONS);
+
+    private final Map<String, Budget> budgets = new ConcurrentHashMap<>();
+
+    public HedgingHttpClientService(HttpClientService delegate) {
+        super(delegate);
+    }
+
+    @Override
+    public ApiResponse execute(ApiRequest<?> request) {
+        Hedge hedge = hedgeOf(request);
+        if (hedge == null) return delegate.execute(request);
+        try {
+            return hedged(request, hedge).join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtime) throw runtime;
+            if (cause instanceof Error error) throw error;
+            throw e;
+        }
+    }
+
+    @Override
+    public CompletableFuture<ApiResponse> executeAsync(ApiRequest<?> request) {
+        Hedge hedge = hedgeOf(request);
+        if (hedge == null) return delegate.executeAsync(request);
+        return hedged(request, hedge);
+    }
+
+    private static Hedge hedgeOf(ApiRequest<?> request) {
+        Hedge hedge = EndpointAnnotations.get(request.getEndpoint(), Hedge.class);
+        if (hedge == null) return null;
+        if (request.getDownloadTo() != null || request.isMultipart()) return null;
+        return SAFE_METHODS.contains(request.getMethod()) || hedge.idempotent() ? hedge : null;
+    }
+
+    private CompletableFuture<ApiResponse> hedged(ApiRequest<?> request, Hedge hedge) {
+        Budget budget = budgets.computeIfAbsent(HttpMetrics.keyOf(request.getEndpoint()), k -> new Budget());
+        budget.deposit();
+        long delayMicros = hedgeDelayMicros(request, hedge);
+        CompletableFuture<ApiResponse> result = new CompletableFuture<>();
+        List<CompletableFuture<ApiResponse>> attempts = new CopyOnWriteArrayList<>();
+        AtomicInteger pending = new AtomicInteger();
+
+        launch(request, result, attempts, pending, false);
+        if (delayMicros < 0) return result;
+
+        ScheduledFuture<?> timer = HttpExecutors.scheduler().schedule(() -> {
+            if (result.isDone()) return;
+            if (!budget.tryWithdraw()) {
+                HttpMetrics.increment(request, Counter.HEDGES_DENIED);
+                return;
+            }
+            log.debug("No response from {} after {} us, sending hedge", HttpMetrics.keyOf(request.getEndpoint()), delayMicros);
+            HttpMetrics.increment(request, Counter.HEDGES);
+            // a blocking client may run the call on the submitting thread, keep it off the shared scheduler
+            HttpExecutors.dispatcher().execute(() -> launch(request, result, attempts, pending, true));
+        }, delayMicros, TimeUnit.MICROSECONDS);
+
+        result.whenComplete((response, error) -> {
+            timer.cancel(false);
+            attempts.forEach(attempt -> attempt.cancel(true));   // no-op for the winner
+        });
+        return result;
+    }
+
+    private void launch(ApiRequest<?> request, CompletableFuture<ApiResponse> result,
+                        List<CompletableFuture<ApiResponse>> attempts, AtomicInteger pending, boolean isHedge) {
+        pending.incrementAndGet();
+        CompletableFuture<ApiResponse> attempt;
+        try {
+            attempt = delegate.executeAsync(request);
+        } catch (RuntimeException | Error e) {
+            onAttemptFailed(result, pending, e);
+            return;
+        }
+        attempts.add(attempt);
+        if (result.isDone()) attempt.cancel(true);
+        attempt.whenComplete((response, error) -> {
+            if (error == null) {
+                pending.decrementAndGet();
+                // counted before completing, a caller woken by the result must already see the win
+                synchronized (result) {
+                    if (result.isDone()) return;
+                    if (isHedge) HttpMetrics.increment(request, Counter.HEDGE_WINS);
+                    result.complete(response);
+                }
+            } else {
+                onAttemptFailed(result, pending, error);
+            }
+        });
+    }
+
+    private static void onAttemptFailed(CompletableFuture<ApiResponse> result, AtomicInteger pending, Throwable error) {
+        // only fail once no other attempt can still answer
+        if (pending.decrementAndGet() == 0) {
+            result.completeExceptionally(error instanceof CompletionException && error.getCause() != null
+                    ? error.getCause() : error);
+        }
+    }
+
+    /**
+     * @return when to send the hedge, or {@code -1} while the endpoint has too few samples
+     */
+    private static long hedgeDelayMicros(ApiRequest<?> request, Hedge hedge) {
+        LatencyHistogram latency = HttpMetrics.forEndpoint(request.getEndpoint()).histogram(Phase.TOTAL);
+        if (latency.getCount() < hedge.minSamples()) return -1;
+        return Math.max(TimeUnit.MILLISECONDS.toMicros(hedge.minDelayMillis()),
+                latency.getPercentileMicros(hedge.percentile()));
+    }
+
+    private static final class Budget {
+        private double tokens = BUDGET_MAX_TOKENS;
+
+        synchronized void deposit() {
+            tokens = Math.min(BUDGET_MAX_TOKENS, tokens + BUDGET_RATIO);
+        }
+
+        synchronized boolean tryWithdraw() {
+            if (tokens < 1) return false;
+            tokens -= 1;
+            return true;
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package in.zeta.qa.utils.rest.pipeline;
+
+import in.zeta.qa.utils.rest.ClientType;
+import in.zeta.qa.utils.rest.HttpClientService;
+import in.zeta.qa.utils.rest.cache.CachingHttpClientService;
+import in.zeta.qa.utils.rest.cassette.CassetteHttpClientService;
+import in.zeta.qa.utils.rest.metrics.MetricsHttpClientService;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Decorates the transport of each {@link ClientType} with the cross-cutting layers every request goes through.
+ * <p>
+ * Layers are {@link ForwardingHttpClientService}s stacked around the client, innermost first. The assembled
+ * pipeline is built once per client type and shared; layers must therefore be thread-safe.
+ */
+public final class HttpPipeline {
+
+    private static final Map<ClientType, HttpClientService> PIPELINES = new ConcurrentHashMap<>();
+
+    private HttpPipeline() {
+        // prevent instantiation
+    }
+
+    public static HttpClientService of(ClientType client) {
+        return PIPELINES.computeIfAbsent(client, c -> assemble(c.getService()));
+    }
+
+    private static HttpClientService assemble(HttpClientService transport) {
+        HttpClientService service = transport;
+        // metrics sit right on the transport so every attempt that reaches the wire is measured
+        service = new MetricsHttpClientService(service);
+        // sets each attempt's timeout; below the breaker so that timed out calls count as failures
+        service = new AdaptiveTimeoutHttpClientService(service);
+        // pacing happens before the timeout and latency clocks start, and after an open circuit has failed fast
+        service = new RateLimitingHttpClientService(service);
+        // below coalescing so that a shared call counts once towards the circuit
+        service = new CircuitBreakerHttpClientService(service);
+        // above the breaker and metrics so that each hedged attempt is measured and counted on its own
+        service = new HedgingHttpClientService(service);
+        // above metrics so that a coalesced request is measured once, by the call that actually went out
+        service = new CoalescingHttpClientService(service);
+        // a cache hit skips every other layer, revalidations still coalesce
+        service = new CachingHttpClientService(service);
+        // outermost: records what the test saw, cache hits included, and replays without touching any other layer
+        service = new CassetteHttpClientService(service);
+        return service;
+    }
+}
@@ -0,0 +1,168 @@
+package in.zeta.qa.utils.rest.pipeline;
+
+import in.zeta.qa.constants.anotation.RateLimit;
+import in.zeta.qa.utils.fileUtils.PropertyFileReader;
+import in.zeta.qa.utils.rest.ApiRequest;
+import in.zeta.qa.utils.rest.ApiResponse;
+import in.zeta.qa.utils.rest.HttpClientService;
+import in.zeta.qa.utils.rest.HttpExecutors;
+import in.zeta.qa.utils.rest.metrics.HttpMetrics;
+import in.zeta.qa.utils.rest.metrics.HttpMetrics.Counter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.net.URI;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Pipeline layer pacing requests with {@link TokenBucket}s so that parallel suites stay under a shared
+ * environment's throttling limits instead of being answered with 429s and retried.
+ * <p>
+ * Limits are set per host with {@code http.rateLimit.<host>=<permitsPerSecond>[,<burst>]} and per endpoint with
+ * {@link RateLimit} or {@code http.rateLimit.<Enum>.<CONSTANT>=...}; when both apply a request waits for both.
+ * Blocking requests park the calling thread, async requests wait on {@link HttpExecutors#scheduler()} and are then
+ * sent from {@link HttpExecutors#dispatcher()}.
+ * A 429 carrying {@code Retry-After} pauses the buckets of the request for that long. Waits are counted per
+ * endpoint in {@link HttpMetrics}.
+ */
+@Slf4j
+public class RateLimitingHttpClientService extends ForwardingHttpClientService {
+
+    private static final String PROPERTY_PREFIX = "http.rateLimit.";
+
+    /** Buckets by host or endpoint name; every server URL pointing to the same host draws from the same bucket. */
+    private final Map<String, TokenBucket> bucketsByName = new ConcurrentHashMap<>();
+    private final Map<String, Optional<TokenBucket>> hostBuckets = new ConcurrentHashMap<>();
+    private final Map<String, Optional<TokenBucket>> endpointBuckets = new ConcurrentHashMap<>();
+
+    public RateLimitingHttpClientService(HttpClientService delegate) {
+        super(delegate);
+    }
+
+    @Override
+    public ApiResponse execute(ApiRequest<?> request) {
+        TokenBucket host = hostBucket(request);
+        TokenBucket endpoint = endpointBucket(request);
+        if (host == null && endpoint == null) return delegate.execute(request);
+
+        long waitNanos = reserve(request, host, endpoint);
+        long deadline = System.nanoTime() + waitNanos;
+        for (long remaining = waitNanos; remaining > 0; remaining = deadline - System.nanoTime()) {
+            LockSupport.parkNanos(this, remaining);
+            if (Thread.interrupted()) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for a rate limit permit");
+            }
+        }
+        return pauseOn429(delegate.execute(request), host, endpoint);
+    }
+
+    @Override
+    public CompletableFuture<ApiResponse> executeAsync(ApiRequest<?> request) {
+        TokenBucket host = hostBucket(request);
+        TokenBucket endpoint = endpointBucket(request);
+        if (host == null && endpoint == null) return delegate.executeAsync(request);
+
+        long waitNanos = reserve(request, host, endpoint);
+        if (waitNanos == 0) {
+            CompletableFuture<ApiResponse> call = delegate.executeAsync(request);
+            return cancelling(call, call.thenApply(response -> pauseOn429(response, host, endpoint)));
+        }
+        CompletableFuture<ApiResponse> result = new CompletableFuture<>();
+        // a blocking client may run the call on the submitting thread, keep it off the shared scheduler
+        ScheduledFuture<?> timer = HttpExecutors.scheduler().schedule(() -> HttpExecutors.dispatcher().execute(() -> {
+            if (result.isDone()) return;   // cancelled while waiting
+            CompletableFuture<ApiResponse> call;
+            try {
+                call = delegate.executeAsync(request);
+            } catch (RuntimeException | Error e) {
+                result.completeExceptionally(e);
+                return;
+            }
+            result.whenComplete((response, error) -> {
+                if (result.isCancelled()) call.cancel(true);
+            });
+            call.whenComplete((response, error) -> {
+                if (error == null) {
+                    result.complete(pauseOn429(response, host, endpoint));
+                } else {
+                    result.completeExceptionally(error);
+                }
+            });
+        }), waitNanos, TimeUnit.NANOSECONDS);
+        result.whenComplete((response, error) -> timer.cancel(false));
+        return result;
+    }
+
+    private static long reserve(ApiRequest<?> request, TokenBucket host, TokenBucket endpoint) {
+        long waitNanos = Math.max(host != null ? host.reserve() : 0, endpoint != null ? endpoint.reserve() : 0);
+        if (waitNanos > 0) {
+            HttpMetrics.increment(request, Counter.RATE_LIMIT_WAITS);
+            HttpMetrics.add(request, Counter.RATE_LIMIT_WAIT_MILLIS, TimeUnit.NANOSECONDS.toMillis(waitNanos));
+        }
+        return waitNanos;
+    }
+
+    private static ApiResponse pauseOn429(ApiResponse response, TokenBucket host, TokenBucket endpoint) {
+        if (response.getStatusCode() != 429) return response;
+        long retryAfterSeconds = parseRetryAfter(response.getHeader("Retry-After"));
+        if (retryAfterSeconds > 0) {
+            log.warn("429 from {}, pausing for {}s", host != null ? host : endpoint, retryAfterSeconds);
+            if (host != null) host.pause(TimeUnit.SECONDS.toNanos(retryAfterSeconds));
+            if (endpoint != null) endpoint.pause(TimeUnit.SECONDS.toNanos(retryAfterSeconds));
+        }
+        return response;
+    }
+
+    private static long parseRetryAfter(String value) {
+        if (value == null) return -1;
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            return -1;   // HTTP-date form, not worth the parsing here
+        }
+    }
+
+    private TokenBucket hostBucket(ApiRequest<?> request) {
+        if (request.getServerURL() == null) return null;
+        return hostBuckets.computeIfAbsent(request.getServerURL(), url -> {
+            String host = hostOf(url);
+            return host == null ? Optional.empty() : bucketFromProperty(host, null);
+        }).orElse(null);
+    }
+
+    private TokenBucket endpointBucket(ApiRequest<?> request) {
+        if (request.getEndpoint() == null) return null;
+        String key = HttpMetrics.keyOf(request.getEndpoint());
+        return endpointBuckets.computeIfAbsent(key,
+                k -> bucketFromProperty(k, EndpointAnnotations.get(request.getEndpoint(), RateLimit.class))).orElse(null);
+    }
+
+    private Optional<TokenBucket> bucketFromProperty(String name, RateLimit annotation) {
+        List<String> limit = PropertyFileReader.getListSetting(PROPERTY_PREFIX + name);
+        if (!limit.isEmpty()) {
+            double permitsPerSecond = Double.parseDouble(limit.get(0).trim());
+            int burst = limit.size() > 1 ? Integer.parseInt(limit.get(1).trim()) : 1;
+            return Optional.of(bucketsByName.computeIfAbsent(name, n -> new TokenBucket(n, permitsPerSecond, burst)));
+        }
+        if (annotation != null) {
+            return Optional.of(bucketsByName.computeIfAbsent(name,
+                    n -> new TokenBucket(n, annotation.permitsPerSecond(), annotation.burst())));
+        }
+        return Optional.empty();
+    }
+
+    private static String hostOf(String serverURL) {
+        try {
+            return URI.create(serverURL).getHost();
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package in.zeta.qa.utils.rest.pipeline;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Smooth token bucket in its "virtual scheduling" form: instead of counting tokens it tracks when the next request
+ * is due, spacing requests {@code 1 / permitsPerSecond} apart while letting up to {@code burst} through at once after
+ * an idle period. A caller reserves its slot and then waits out the returned delay, so concurrent callers queue up
+ * in order without holding a lock while waiting.
+ */
+final class TokenBucket {
+
+    private final String name;
+    private final long intervalNanos;
+    private final long burstNanos;
+    private long nextDueNanos = System.nanoTime();
+
+    TokenBucket(String name, double permitsPerSecond, int burst) {
+        if (permitsPerSecond <= 0) throw new IllegalArgumentException("permitsPerSecond must be > 0 for " + name);
+        this.name = name;
+        this.intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / permitsPerSecond);
+        this.burstNanos = Math.max(0, burst - 1) * intervalNanos;
+    }
+
+    /**
+     * Takes the next slot.
+     *
+     * @return nanoseconds the caller has to wait before sending, 0 when it may go right away
+     */
+    synchronized long reserve() {
+        long now = System.nanoTime();
+        if (nextDueNanos - now < 0) nextDueNanos = now;
+        long waitNanos = Math.max(0, nextDueNanos - burstNanos - now);
+        nextDueNanos += intervalNanos;
+        return waitNanos;
+    }
+
+    /**
+     * Holds back everyone for {@code nanos}, e.g. after the server answered 429 with a {@code Retry-After}.
+     */
+    synchronized void pause(long nanos) {
+        long resumeAt = System.nanoTime() + nanos + burstNanos;
+        if (resumeAt - nextDueNanos > 0) nextDueNanos = resumeAt;
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
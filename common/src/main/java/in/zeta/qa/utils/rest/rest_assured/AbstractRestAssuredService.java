@@ -1,83 +1,192 @@
 package in.zeta.qa.utils.rest.rest_assured;
 
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import in.zeta.qa.utils.fileUtils.XmlUtils;
-import in.zeta.qa.utils.misc.JsonHelper;
+import in.zeta.qa.utils.misc.ObjectMapperRegistry;
 import in.zeta.qa.utils.rest.ApiRequest;
 import in.zeta.qa.utils.rest.ApiResponse;
+import in.zeta.qa.utils.rest.HeaderSet;
 import in.zeta.qa.utils.rest.HttpClientService;
+import in.zeta.qa.utils.rest.HttpCompression;
+import in.zeta.qa.utils.rest.HttpPoolSettings;
+import in.zeta.qa.utils.rest.HttpTimeouts;
+import in.zeta.qa.utils.rest.MultipartPart;
+import in.zeta.qa.utils.rest.MultipartUpload;
+import in.zeta.qa.utils.rest.UrlTemplate;
+import in.zeta.qa.utils.rest.metrics.HttpMetrics;
+import in.zeta.qa.utils.rest.metrics.TimingRecorder;
 import io.qameta.allure.restassured.AllureRestAssured;
-import io.restassured.RestAssured;
+import io.restassured.builder.MultiPartSpecBuilder;
+import io.restassured.builder.RequestSpecBuilder;
+import io.restassured.config.HttpClientConfig;
 import io.restassured.config.ObjectMapperConfig;
 import io.restassured.config.RestAssuredConfig;
+import io.restassured.filter.Filter;
 import io.restassured.http.ContentType;
 import io.restassured.http.Header;
+import io.restassured.http.Headers;
 import io.restassured.http.Method;
 import io.restassured.response.Response;
 import io.restassured.specification.RequestSpecification;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.stream.Collectors;
+import java.util.StringJoiner;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
 
 import lombok.extern.slf4j.Slf4j;
 import org.apache.http.NoHttpResponseException;
+import org.apache.http.impl.client.DefaultHttpClient;
+import org.apache.http.impl.conn.PoolingClientConnectionManager;
+import org.apache.http.impl.conn.SchemeRegistryFactory;
+import org.apache.http.pool.PoolStats;
 
 public abstract class AbstractRestAssuredService implements HttpClientService {
 
-    protected final JsonHelper jsonHelper = new JsonHelper();
-    protected final XmlUtils xmlUtils = new XmlUtils();
+    /**
+     * One pool shared by every request: the default config reuses a single client on top of it, a per-request timeout
+     * gets its own client on the same pool.
+     */
+    @SuppressWarnings("deprecation")   // RestAssured is built on the pre-4.3 HttpClient API
+    private static final PoolingClientConnectionManager CONNECTIONS = createConnectionManager();
 
     protected static final RestAssuredConfig CONFIG;
 
+    private static final Function<HeaderSet, Headers> REST_ASSURED_HEADERS = headerSet -> {
+        List<Header> headers = new ArrayList<>(headerSet.size());
+        headerSet.forEach((name, value) -> headers.add(new Header(name, value)));
+        return new Headers(headers);
+    };
+
     static {
-        ObjectMapper customMapper = new JsonHelper().getMapper();
         CONFIG = RestAssuredConfig.config()
                 .objectMapperConfig(ObjectMapperConfig.objectMapperConfig()
-                        .jackson2ObjectMapperFactory((cls, charset) -> customMapper)
-                );
+                        .jackson2ObjectMapperFactory((cls, charset) -> ObjectMapperRegistry.defaultMapper())
+                )
+                .httpClient(timeouts(HttpTimeouts.REQUEST));
+    }
+
+    @SuppressWarnings("deprecation")   // RestAssured is built on the pre-4.3 HttpClient API
+    private static PoolingClientConnectionManager createConnectionManager() {
+        PoolingClientConnectionManager connections = new PoolingClientConnectionManager(
+                SchemeRegistryFactory.createDefault(), HttpPoolSettings.KEEP_ALIVE.toMillis(), TimeUnit.MILLISECONDS);
+        connections.setMaxTotal(HttpPoolSettings.MAX_CONNECTIONS);
+        connections.setDefaultMaxPerRoute(Math.min(HttpPoolSettings.MAX_REQUESTS_PER_HOST, HttpPoolSettings.MAX_CONNECTIONS));
+        HttpMetrics.registerPool("rest-assured", () -> {
+            PoolStats stats = connections.getTotalStats();
+            return Map.of("activeConnections", stats.getLeased(), "idleConnections", stats.getAvailable(),
+                    "pendingRequests", stats.getPending(), "maxConnections", stats.getMax());
+        });
+        return connections;
+    }
+
+    /**
+     * Pooled client config. Apache HttpClient has no whole-call timeout: the request timeout bounds connection setup
+     * (capped by {@link HttpTimeouts#CONNECT}) and every socket read.
+     */
+    @SuppressWarnings("deprecation")
+    private static HttpClientConfig timeouts(Duration timeout) {
+        int timeoutMillis = (int) Math.min(Integer.MAX_VALUE, timeout.toMillis());
+        return HttpClientConfig.httpClientConfig()
+                .httpClientFactory(() -> new DefaultHttpClient(CONNECTIONS))
+                .reuseHttpClientInstance()
+                .setParam("http.connection.timeout", (int) Math.min(timeoutMillis, HttpTimeouts.CONNECT.toMillis()))
+                .setParam("http.socket.timeout", timeoutMillis);
     }
 
+    /**
+     * Per-server base specifications of this client (config, relaxed HTTPS, URL encoding and {@link #baseFilters()}),
+     * built once and merged into each request's specification instead of being re-applied call by call.
+     */
+    private final Map<String, RequestSpecification> baseSpecs = new ConcurrentHashMap<>();
+
     /** Only difference between normal RA and Serenity RA is where we get the RequestSpecification from */
     protected abstract RequestSpecification given();
 
-    /** Optional hook: let subclasses add filters (Allure, Curl, Serenity custom evidence, etc.) */
+    /** Optional hook: stateless filters shared by every request, part of the cached base specification */
+    protected List<Filter> baseFilters() {
+        return List.of();
+    }
+
+    /** Optional hook: let subclasses add per-request filters (Allure, Serenity custom evidence, etc.) */
     protected RequestSpecification applyFilters(RequestSpecification req, String url, ApiRequest<?> restRequest) {
         return req; // default no-op
     }
 
+    private RequestSpecification baseSpec(String serverURL) {
+        return baseSpecs.computeIfAbsent(serverURL, server -> new RequestSpecBuilder()
+                .setBaseUri(server)
+                .setConfig(CONFIG)
+                .setRelaxedHTTPSValidation()
+                .setUrlEncodingEnabled(false)
+                .addFilters(baseFilters())
+                .build());
+    }
+
     @Override
     public ApiResponse execute(ApiRequest<?> restRequest) {
         String url = buildUrl(restRequest);
-
-        RequestSpecification request = given()
-                .config(CONFIG)
-                .relaxedHTTPSValidation();
-
-        // plug filters (Allure/Curl/etc.) per subclass
-        request = applyFilters(request, url, restRequest);
-
-        Optional.ofNullable(restRequest.getHeaders()).ifPresent(request::headers);
-        Optional.ofNullable(restRequest.getQueryParams()).ifPresent(request::queryParams);
-
-        applyAuthentication(request, restRequest);
-        applyFormParams(request, restRequest);
-        applyBody(request, restRequest);
-        applyFiles(request, restRequest);
+        Method method = Method.valueOf(restRequest.getMethod().name());
+        TimingRecorder recorder = new TimingRecorder();
+        RequestSpecification request = buildSpecification(restRequest, url, recorder);
 
         Response response = null;
         try {
-            response = executeRequest(request, url, Method.valueOf(restRequest.getMethod().name()));
+            response = executeRequest(request, url, method);
         } catch (Exception e) {
             if (containsNoHttpResponseException(e)) {
-                response = executeRequest(request, url, Method.valueOf(restRequest.getMethod().name()));
+                if (restRequest.isMultipart()) {
+                    // the failed attempt consumed the part streams, open them again in a fresh specification
+                    recorder = new TimingRecorder();
+                    request = buildSpecification(restRequest, url, recorder);
+                }
+                response = executeRequest(request, url, method);
             } else {
                 throw e;
             }
         }
 
-        return toApiResponse(response);
+        return toApiResponse(restRequest, response, recorder);
+    }
+
+    private RequestSpecification buildSpecification(ApiRequest<?> restRequest, String url, TimingRecorder recorder) {
+        // the URL comes fully encoded from the endpoint's UrlTemplate, the base spec disables RestAssured's encoding
+        RequestSpecification request = given().spec(baseSpec(restRequest.getServerURL()));
+        if (restRequest.getTimeout() != null) {
+            // replaces the whole config, including the SSL part set by relaxed validation
+            request.config(CONFIG.httpClient(timeouts(restRequest.getTimeout()))).relaxedHTTPSValidation();
+        }
+
+        // plug filters (Allure/Curl/etc.) per subclass
+        request = applyFilters(request, url, restRequest);
+        request.filter(new TimingFilter(recorder));
+
+        if (restRequest.getHeaders() instanceof HeaderSet headerSet) {
+            request.headers(headerSet.as(REST_ASSURED_HEADERS));
+        } else {
+            Optional.ofNullable(restRequest.getHeaders()).ifPresent(request::headers);
+        }
+
+        applyAuthentication(request, restRequest);
+        MultipartUpload upload = MultipartUpload.of(restRequest);
+        if (upload != null) {
+            applyMultipart(request, upload);
+        } else if (hasFormParams(restRequest)) {
+            // form params take precedence over a body, as with the other clients
+            applyFormParams(request, restRequest);
+        } else {
+            applyBody(request, restRequest);
+        }
+        return request;
     }
 
     // ---------------------
@@ -106,11 +215,18 @@ public abstract class AbstractRestAssuredService implements HttpClientService {
     // ---------------------
     // Form parameters
     // ---------------------
+    private static boolean hasFormParams(ApiRequest<?> restRequest) {
+        return restRequest.getFormParams() != null && !restRequest.getFormParams().isEmpty();
+    }
+
     protected void applyFormParams(RequestSpecification request, ApiRequest<?> restRequest) {
-        Optional.ofNullable(restRequest.getFormParams()).ifPresent(formParams -> {
-            request.formParams(formParams);
-            request.contentType(ContentType.URLENC);
-        });
+        if (!hasFormParams(restRequest)) return;
+        // encoded here since URL encoding is disabled on the specification
+        StringJoiner form = new StringJoiner("&");
+        restRequest.getFormParams().forEach((k, v) -> form.add(UrlTemplate.encodeQueryComponent(k) + "="
+                + UrlTemplate.encodeQueryComponent(v == null ? "" : String.valueOf(v))));
+        request.contentType(ContentType.URLENC);
+        request.body(form.toString());
     }
 
     // ---------------------
@@ -121,24 +237,17 @@ public abstract class AbstractRestAssuredService implements HttpClientService {
             ContentType bodyContentType = determineContentType(restRequest);
             request.contentType(bodyContentType);
 
-            try {
-                if (body instanceof String strBody) {
-                    request.body(strBody);
-                } else if (body instanceof Map<?, ?> mapBody) {
-                    @SuppressWarnings("unchecked")
-                    String payload = jsonHelper.convertMapToJsonString((Map<String, Object>) mapBody);
-                    request.body(payload);
-                } else if (body instanceof JsonNode nodeBody) {
-                    String payload = jsonHelper.convertJsonNodeToString(nodeBody);
-                    request.body(payload);
-                } else {
-                    String serializedBody = (bodyContentType == ContentType.XML)
-                            ? xmlUtils.convertObjectToXmlString(body)
-                            : jsonHelper.convertObjectToJsonString(body);
-                    request.body(serializedBody);
-                }
-            } catch (Exception e) {
-                throw new RuntimeException("Failed to serialize request body", e);
+            HttpCompression.EncodedBody encoded = HttpCompression.encodeBody(restRequest, bodyContentType.toString());
+            if (encoded.gzipped()) {
+                request.header("Content-Encoding", HttpCompression.GZIP);
+                request.body(encoded.bytes());
+                return;
+            }
+
+            if (body instanceof String strBody) {
+                request.body(strBody);
+            } else {
+                request.body(encoded.bytes());
             }
         });
     }
@@ -158,30 +267,54 @@ public abstract class AbstractRestAssuredService implements HttpClientService {
     }
 
     // ---------------------
-    // Files
+    // Multipart
     // ---------------------
-    protected void applyFiles(RequestSpecification request, ApiRequest<?> restRequest) {
-        Optional.ofNullable(restRequest.getFiles())
-                .filter(files -> !files.isEmpty())
-                .ifPresent(files -> {
-                    request.contentType(ContentType.MULTIPART);
-                    files.forEach(file -> request.multiPart("file", file));
-                });
+
+    /**
+     * Form params, files and parts as multipart. RestAssured's multipart entity cannot carry a declared part length,
+     * so content parts are streamed chunked.
+     */
+    protected void applyMultipart(RequestSpecification request, MultipartUpload upload) {
+        request.contentType(ContentType.MULTIPART);
+        for (MultipartPart part : upload.getParts()) {
+            if (part.isField()) {
+                request.multiPart(part.getName(), part.getText());
+                continue;
+            }
+            try {
+                request.multiPart(new MultiPartSpecBuilder(upload.openPart(part))
+                        .controlName(part.getName())
+                        .fileName(part.getFileName())
+                        .mimeType(part.getContentType())
+                        .build());
+            } catch (IOException e) {
+                throw new UncheckedIOException("Unable to open multipart part: " + part.getName(), e);
+            }
+        }
     }
 
-    protected ApiResponse toApiResponse(Response response) {
+    protected ApiResponse toApiResponse(ApiRequest<?> restRequest, Response response, TimingRecorder recorder) {
         if (response == null) {
             throw new IllegalStateException("Response is null (request may not have executed)");
         }
-        return ApiResponse.builder()
+        Map<String, List<String>> headers = new LinkedHashMap<>();
+        for (Header header : response.getHeaders()) {
+            headers.computeIfAbsent(header.getName(), k -> new ArrayList<>(1)).add(header.getValue());
+        }
+        ApiResponse.ApiResponseBuilder builder = ApiResponse.builder()
                 .statusCode(response.getStatusCode())
-                .headers(response.getHeaders().asList().stream()
-                        .collect(Collectors.groupingBy(
-                                Header::getName,
-                                Collectors.mapping(Header::getValue, Collectors.toList())
-                        )))
-                .body(response.getBody().asString())
-                .build();
+                .headers(headers)
+                .charset(ApiResponse.charsetOf(response.getContentType()))
+                .timings(recorder.snapshot());
+        if (restRequest.getDownloadTo() != null) {
+            try (InputStream in = response.getBody().asInputStream()) {
+                Files.copy(in, restRequest.getDownloadTo(), StandardCopyOption.REPLACE_EXISTING);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to write response body to " + restRequest.getDownloadTo(), e);
+            }
+            return builder.bodyFile(restRequest.getDownloadTo()).build();
+        }
+        return builder.bodyBytes(response.getBody().asByteArray()).build();
     }
 
     protected boolean containsNoHttpResponseException(Throwable t) {
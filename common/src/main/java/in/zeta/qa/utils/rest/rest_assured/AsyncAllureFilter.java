@@ -0,0 +1,189 @@
+package in.zeta.qa.utils.rest.rest_assured;
+
+import in.zeta.qa.utils.fileUtils.PropertyFileReader;
+import in.zeta.qa.utils.rest.AllureAttachmentWriter;
+import io.qameta.allure.Allure;
+import io.qameta.allure.AllureLifecycle;
+import io.qameta.allure.attachment.AttachmentContent;
+import io.qameta.allure.attachment.FreemarkerAttachmentRenderer;
+import io.qameta.allure.attachment.http.HttpRequestAttachment;
+import io.qameta.allure.attachment.http.HttpResponseAttachment;
+import io.restassured.filter.FilterContext;
+import io.restassured.filter.OrderedFilter;
+import io.restassured.http.Header;
+import io.restassured.internal.support.Prettifier;
+import io.restassured.parsing.Parser;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Drop-in replacement for {@code AllureRestAssured} that keeps rendering off the test thread: the filter only
+ * registers the attachments with the current test and captures the exchange as raw parts; pretty-printing, the
+ * Freemarker templates and the file writes run on the {@link AllureAttachmentWriter}.
+ * <p>
+ * Bodies larger than {@code http.allure.maxBodyBytes} (default 256 KiB) are truncated in the HTML attachment. With
+ * {@code http.allure.largeBody=gzip} the complete body is additionally attached gzip-compressed.
+ * <p>
+ * {@link #INLINE_WITHOUT_RESPONSE_BODY} renders on the test thread instead, for downloads while
+ * {@code http.allure.async} is off.
+ */
+@Slf4j
+public class AsyncAllureFilter implements OrderedFilter {
+
+    private static final int MAX_BODY_BYTES = PropertyFileReader.getIntSetting("http.allure.maxBodyBytes", 256 * 1024);
+    private static final boolean GZIP_LARGE_BODIES =
+            "gzip".equalsIgnoreCase(PropertyFileReader.getSetting("http.allure.largeBody", "truncate"));
+
+    private static final FreemarkerAttachmentRenderer REQUEST_RENDERER = new FreemarkerAttachmentRenderer("http-request.ftl");
+    private static final FreemarkerAttachmentRenderer RESPONSE_RENDERER = new FreemarkerAttachmentRenderer("http-response.ftl");
+    private static final Prettifier PRETTIFIER = new Prettifier();
+
+    /** Shared instance for regular requests; attachments are named after the request URL. */
+    public static final AsyncAllureFilter INSTANCE = new AsyncAllureFilter(true, true);
+    /** Shared instance for downloads, whose body is streamed to a file and must not be buffered. */
+    public static final AsyncAllureFilter WITHOUT_RESPONSE_BODY = new AsyncAllureFilter(true, false);
+    /** {@link #WITHOUT_RESPONSE_BODY} writing the attachments before the response is handed back. */
+    public static final AsyncAllureFilter INLINE_WITHOUT_RESPONSE_BODY = new AsyncAllureFilter(false, false);
+
+    private final boolean async;
+    private final boolean captureResponseBody;
+
+    private AsyncAllureFilter(boolean async, boolean captureResponseBody) {
+        this.async = async;
+        this.captureResponseBody = captureResponseBody;
+    }
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec,
+                           FilterableResponseSpecification responseSpec,
+                           FilterContext filterContext) {
+        Response response = filterContext.next(requestSpec, responseSpec);
+        AllureLifecycle lifecycle = Allure.getLifecycle();
+        if (lifecycle.getCurrentTestCaseOrStep().isEmpty()) return response;   // nothing to attach to
+
+        String url = requestSpec.getURI();
+        Body requestBody = Body.of(requestSpec.getBody(), requestSpec.getContentType());
+        Body responseBody = captureResponseBody ? Body.of(response.asByteArray(), response.getContentType()) : null;
+
+        // registered here, on the test thread, so they belong to the running test or step
+        String requestSource = lifecycle.prepareAttachment(url, "text/html", ".html");
+        String requestGzSource = gzipSource(lifecycle, requestBody, url + " (request body)");
+        String responseSource = lifecycle.prepareAttachment(response.getStatusLine(), "text/html", ".html");
+        String responseGzSource = gzipSource(lifecycle, responseBody, response.getStatusLine() + " (response body)");
+
+        String method = requestSpec.getMethod();
+        Map<String, String> requestHeaders = toMap(requestSpec.getHeaders().asList());
+        Map<String, String> cookies = new LinkedHashMap<>();
+        requestSpec.getCookies().forEach(cookie -> cookies.put(cookie.getName(), cookie.getValue()));
+        int statusCode = response.getStatusCode();
+        Map<String, String> responseHeaders = toMap(response.getHeaders().asList());
+
+        Runnable render = () -> {
+            HttpRequestAttachment.Builder request = HttpRequestAttachment.Builder.create(url, url)
+                    .setMethod(method)
+                    .setHeaders(requestHeaders)
+                    .setCookies(cookies);
+            if (requestBody != null) request.setBody(requestBody.render());
+            write(lifecycle, requestSource, REQUEST_RENDERER.render(request.build()));
+            writeGzip(lifecycle, requestGzSource, requestBody);
+
+            HttpResponseAttachment.Builder responseAttachment = HttpResponseAttachment.Builder.create(url)
+                    .setResponseCode(statusCode)
+                    .setHeaders(responseHeaders);
+            responseAttachment.setBody(responseBody != null ? responseBody.render() : "<not captured: streamed to file>");
+            write(lifecycle, responseSource, RESPONSE_RENDERER.render(responseAttachment.build()));
+            writeGzip(lifecycle, responseGzSource, responseBody);
+        };
+        if (async) {
+            AllureAttachmentWriter.submit(render);
+        } else {
+            try {
+                render.run();
+            } catch (RuntimeException e) {
+                // reporting must never fail a test
+                log.warn("Unable to write Allure attachment: {}", e.getMessage(), e);
+            }
+        }
+        return response;
+    }
+
+    @Override
+    public int getOrder() {
+        return LOWEST_PRECEDENCE - 1;   // sees the final request, outside of the TimingFilter measurement
+    }
+
+    private static String gzipSource(AllureLifecycle lifecycle, Body body, String name) {
+        if (!GZIP_LARGE_BODIES || body == null || !body.isOversized()) return null;
+        return lifecycle.prepareAttachment(name, "application/gzip", ".gz");
+    }
+
+    private static void write(AllureLifecycle lifecycle, String source, AttachmentContent content) {
+        lifecycle.writeAttachment(source, new ByteArrayInputStream(content.getContent().getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static void writeGzip(AllureLifecycle lifecycle, String source, Body body) {
+        if (source == null) return;
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(body.bytes.length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+            gzip.write(body.bytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        lifecycle.writeAttachment(source, new ByteArrayInputStream(compressed.toByteArray()));
+    }
+
+    private static Map<String, String> toMap(List<Header> headers) {
+        Map<String, String> map = new LinkedHashMap<>();
+        headers.forEach(header -> map.merge(header.getName(), header.getValue(), (a, b) -> a + ", " + b));
+        return map;
+    }
+
+    /** A body as captured: bytes (or the String already held by the request) and content type, nothing rendered. */
+    private static final class Body {
+        private final byte[] bytes;
+        private final String contentType;
+
+        private Body(byte[] bytes, String contentType) {
+            this.bytes = bytes;
+            this.contentType = contentType;
+        }
+
+        static Body of(Object body, String contentType) {
+            if (body == null) return null;
+            byte[] bytes = body instanceof byte[] b ? b : String.valueOf(body).getBytes(StandardCharsets.UTF_8);
+            return bytes.length == 0 ? null : new Body(bytes, contentType);
+        }
+
+        boolean isOversized() {
+            return bytes.length > MAX_BODY_BYTES;
+        }
+
+        String render() {
+            if (isOversized()) {
+                return new String(bytes, 0, MAX_BODY_BYTES, StandardCharsets.UTF_8)
+                        + "\n... truncated, " + bytes.length + " bytes in total"
+                        + (GZIP_LARGE_BODIES ? ", complete body attached as .gz" : "");
+            }
+            String text = new String(bytes, StandardCharsets.UTF_8);
+            Parser parser = contentType == null ? null : Parser.fromContentType(contentType);
+            if (parser == null) return text;
+            try {
+                return PRETTIFIER.prettify(text, parser);
+            } catch (RuntimeException e) {
+                return text;
+            }
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package in.zeta.qa.utils.rest.rest_assured;
+
+import io.restassured.http.Header;
+import io.restassured.internal.support.Prettifier;
+import io.restassured.parsing.Parser;
+import io.restassured.specification.FilterableRequestSpecification;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * What is needed to render a request as cURL later: references to the already built request parts, no formatting.
+ * {@link #render()} does the (expensive) cURL building and body pretty-printing only when the text is wanted.
+ */
+public final class CurlCapture {
+
+    private static final Prettifier PRETTIFIER = new Prettifier();
+
+    private final String method;
+    private final String uri;
+    private final List<Header> headers;
+    private final Object body;
+    private final String contentType;
+    private final Map<String, ?> formParams;
+    private int statusCode;
+
+    private CurlCapture(String method, String uri, List<Header> headers, Object body, String contentType,
+                        Map<String, ?> formParams) {
+        this.method = method;
+        this.uri = uri;
+        this.headers = headers;
+        this.body = body;
+        this.contentType = contentType;
+        this.formParams = formParams;
+    }
+
+    static CurlCapture of(FilterableRequestSpecification requestSpec) {
+        Map<String, ?> formParams = requestSpec.getFormParams();
+        return new CurlCapture(requestSpec.getMethod(), requestSpec.getURI(), requestSpec.getHeaders().asList(),
+                requestSpec.getBody(), requestSpec.getContentType(),
+                formParams == null || formParams.isEmpty() ? null : Map.copyOf(formParams));
+    }
+
+    void setStatusCode(int statusCode) {
+        this.statusCode = statusCode;
+    }
+
+    public int getStatusCode() {
+        return statusCode;
+    }
+
+    public String render() {
+        StringBuilder curl = new StringBuilder("curl -X ")
+                .append(method)
+                .append(" \\\n  '")
+                .append(uri)
+                .append("'");
+
+        // pretty headers
+        headers.forEach(h ->
+                curl.append(" \\\n  -H '").append(h.getName())
+                        .append(": ").append(h.getValue()).append("'"));
+
+        // pretty body
+        if (body != null) {
+            curl.append(" \\\n  -d '").append(prettyBody()).append("'");
+        }
+
+        // form params support
+        if (formParams != null) {
+            formParams.forEach((key, value) ->
+                    curl.append(" \\\n  --form '")
+                            .append(key).append("=\"").append(value).append("\"'"));
+        }
+        if (statusCode > 0) curl.append("\n# -> HTTP ").append(statusCode);
+        return curl.toString();
+    }
+
+    private String prettyBody() {
+        String text = body instanceof byte[] bytes ? new String(bytes, StandardCharsets.UTF_8) : String.valueOf(body);
+        Parser parser = contentType == null ? null : Parser.fromContentType(contentType);
+        if (parser == null) return text;
+        try {
+            return PRETTIFIER.prettify(text, parser);
+        } catch (RuntimeException e) {
+            return text;   // not valid JSON/XML after all, show it as sent
+        }
+    }
+}
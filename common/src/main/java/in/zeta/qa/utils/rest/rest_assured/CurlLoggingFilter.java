@@ -1,18 +1,34 @@
 package in.zeta.qa.utils.rest.rest_assured;
 
+import in.zeta.qa.utils.fileUtils.PropertyFileReader;
+import io.qameta.allure.Allure;
 import io.restassured.filter.FilterContext;
 import io.restassured.filter.OrderedFilter;
-import io.restassured.internal.support.Prettifier;
 import io.restassured.response.Response;
 import io.restassured.specification.FilterableRequestSpecification;
 import io.restassured.specification.FilterableResponseSpecification;
 import lombok.extern.slf4j.Slf4j;
 
+import java.util.List;
 
+
+/**
+ * Logs RestAssured requests as cURL commands.
+ * <p>
+ * {@code http.curl.mode=always} (default) renders and logs every request at INFO. {@code http.curl.mode=onFailure}
+ * only captures requests into the per-thread {@link CurlRingBuffer}; they are rendered and attached to Allure when
+ * the test fails (see {@link in.zeta.qa.utils.testListeners.CurlOnFailureListener}) or right away when the response
+ * status is listed in {@code http.curl.onStatus} (e.g. {@code 429,5xx}).
+ */
 @Slf4j
 public class CurlLoggingFilter implements OrderedFilter {
 
-    final Prettifier prettifier = new Prettifier();
+    /** The filter holds no state, every request specification can share this one. */
+    public static final CurlLoggingFilter INSTANCE = new CurlLoggingFilter();
+
+    private static final boolean ALWAYS =
+            !"onFailure".equalsIgnoreCase(PropertyFileReader.getSetting("http.curl.mode", "always"));
+    private static final List<String> LOG_ON_STATUS = PropertyFileReader.getListSetting("http.curl.onStatus");
 
 
     /**
@@ -25,33 +41,32 @@ public class CurlLoggingFilter implements OrderedFilter {
                            final FilterableResponseSpecification responseSpec,
                            final FilterContext filterContext) {
 
-        StringBuilder curl = new StringBuilder("curl -X ")
-                .append(requestSpec.getMethod())
-                .append(" \\\n  '")
-                .append(requestSpec.getURI())
-                .append("'");
-
-        // pretty headers
-        requestSpec.getHeaders().forEach(h ->
-                curl.append(" \\\n  -H '").append(h.getName())
-                        .append(": ").append(h.getValue()).append("'"));
-
-        // pretty body
-        if (requestSpec.getBody() != null) {
-            String body = prettifier.getPrettifiedBodyIfPossible(requestSpec);
-            curl.append(" \\\n  -d '").append(body).append("'");
+        CurlCapture capture = CurlCapture.of(requestSpec);
+        if (ALWAYS) {
+            log.info("\n{}", capture.render());
+            return filterContext.next(requestSpec, responseSpec);
         }
 
-        // form params support
-        if (requestSpec.getFormParams() != null && !requestSpec.getFormParams().isEmpty()) {
-            requestSpec.getFormParams().forEach((key, value) ->
-                    curl.append(" \\\n  --form '")
-                            .append(key).append("=\"").append(value).append("\"'"));
+        CurlRingBuffer.add(capture);
+        Response response = filterContext.next(requestSpec, responseSpec);
+        capture.setStatusCode(response.getStatusCode());
+        if (matchesLogStatus(response.getStatusCode())) {
+            String curl = capture.render();
+            log.info("\n{}", curl);
+            Allure.addAttachment("cURL (HTTP " + response.getStatusCode() + ")", "text/plain", curl, ".txt");
         }
+        return response;
+    }
 
-        log.info("\n{}", curl);
-
-        return filterContext.next(requestSpec, responseSpec);
+    private static boolean matchesLogStatus(int statusCode) {
+        for (String pattern : LOG_ON_STATUS) {
+            String status = pattern.trim().toLowerCase();
+            if (status.endsWith("xx") ? status.charAt(0) - '0' == statusCode / 100
+                    : status.equals(String.valueOf(statusCode))) {
+                return true;
+            }
+        }
+        return false;
     }
 
 
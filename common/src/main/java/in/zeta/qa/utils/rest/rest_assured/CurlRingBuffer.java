@@ -0,0 +1,46 @@
+package in.zeta.qa.utils.rest.rest_assured;
+
+import in.zeta.qa.utils.fileUtils.PropertyFileReader;
+
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * The last {@code http.curl.bufferSize} (default 20) requests of the current thread, kept as {@link CurlCapture}s
+ * until a test fails and they are rendered. Requests sent from other threads (e.g. async requests of blocking
+ * clients) land in those threads' buffers.
+ */
+public final class CurlRingBuffer {
+
+    private static final int CAPACITY = PropertyFileReader.getIntSetting("http.curl.bufferSize", 20);
+    private static final ThreadLocal<ArrayDeque<CurlCapture>> BUFFER =
+            ThreadLocal.withInitial(() -> new ArrayDeque<>(CAPACITY));
+
+    private CurlRingBuffer() {
+        // prevent instantiation
+    }
+
+    static void add(CurlCapture capture) {
+        ArrayDeque<CurlCapture> buffer = BUFFER.get();
+        if (buffer.size() >= CAPACITY) buffer.pollFirst();
+        buffer.addLast(capture);
+    }
+
+    public static void clear() {
+        BUFFER.get().clear();
+    }
+
+    /**
+     * Renders and clears the buffered requests of the current thread, oldest first.
+     *
+     * @return the rendered cURL commands separated by blank lines, or {@code null} when nothing was captured
+     */
+    public static String drainRendered() {
+        ArrayDeque<CurlCapture> buffer = BUFFER.get();
+        if (buffer.isEmpty()) return null;
+        List<CurlCapture> captures = List.copyOf(buffer);
+        buffer.clear();
+        return captures.stream().map(CurlCapture::render).collect(Collectors.joining("\n\n"));
+    }
+}
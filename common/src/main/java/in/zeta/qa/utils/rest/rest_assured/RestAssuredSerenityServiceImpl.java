@@ -1,14 +1,18 @@
 package in.zeta.qa.utils.rest.rest_assured;
 
 import in.zeta.qa.utils.cuncurrency.SingletonFactory;
-import in.zeta.qa.utils.rest.ApiRequest;
 import in.zeta.qa.utils.rest.HttpClientService;
+import io.restassured.filter.Filter;
 import io.restassured.specification.RequestSpecification;
 import net.serenitybdd.rest.SerenityRest;
 
+import java.util.List;
+
 
 public class RestAssuredSerenityServiceImpl extends AbstractRestAssuredService {
 
+    private RestAssuredSerenityServiceImpl() { }   // prevent external new
+
     public static HttpClientService getInstance() {
         return SingletonFactory.getInstance(RestAssuredSerenityServiceImpl.class);
     }
@@ -19,7 +23,7 @@ public class RestAssuredSerenityServiceImpl extends AbstractRestAssuredService {
     }
 
     @Override
-    protected RequestSpecification applyFilters(RequestSpecification req, String url, ApiRequest<?> restRequest) {
-        return req.filter(new CurlLoggingFilter());
+    protected List<Filter> baseFilters() {
+        return List.of(CurlLoggingFilter.INSTANCE);
     }
 }
@@ -1,18 +1,25 @@
 package in.zeta.qa.utils.rest.rest_assured;
 
 import in.zeta.qa.utils.cuncurrency.SingletonFactory;
+import in.zeta.qa.utils.fileUtils.PropertyFileReader;
 import in.zeta.qa.utils.rest.ApiRequest;
 import in.zeta.qa.utils.rest.HttpClientService;
 import io.qameta.allure.restassured.AllureRestAssured;
 import io.restassured.RestAssured;
+import io.restassured.filter.Filter;
 import io.restassured.specification.RequestSpecification;
 
 import lombok.extern.slf4j.Slf4j;
 
+import java.util.List;
+
 
 @Slf4j
 public class RestAssuredServiceImpl extends AbstractRestAssuredService {
 
+    /** {@code http.allure.async=true} renders attachments in the background, needs the AllureAttachmentListener */
+    private static final boolean ASYNC_ALLURE = PropertyFileReader.getBooleanSetting("http.allure.async", false);
+
     private RestAssuredServiceImpl() { }   // prevent external new
 
     public static HttpClientService getInstance() {
@@ -24,11 +31,20 @@ public class RestAssuredServiceImpl extends AbstractRestAssuredService {
         return RestAssured.given();
     }
 
+    @Override
+    protected List<Filter> baseFilters() {
+        return List.of(CurlLoggingFilter.INSTANCE);
+    }
+
     @Override
     protected RequestSpecification applyFilters(RequestSpecification req, String url, ApiRequest<?> restRequest) {
-        return req
-                .filter(new CurlLoggingFilter())
-                .filter(new AllureRestAssured().setRequestAttachmentName(url));
+        if (restRequest.getDownloadTo() != null) {
+            // AllureRestAssured would read the whole download into memory, whatever the mode
+            return req.filter(ASYNC_ALLURE
+                    ? AsyncAllureFilter.WITHOUT_RESPONSE_BODY : AsyncAllureFilter.INLINE_WITHOUT_RESPONSE_BODY);
+        }
+        if (!ASYNC_ALLURE) return req.filter(new AllureRestAssured().setRequestAttachmentName(url));
+        return req.filter(AsyncAllureFilter.INSTANCE);
     }
 
 
@@ -0,0 +1,42 @@
+package in.zeta.qa.utils.rest.rest_assured;
+
+import in.zeta.qa.utils.rest.metrics.RequestTimings.Phase;
+import in.zeta.qa.utils.rest.metrics.TimingRecorder;
+import io.restassured.filter.FilterContext;
+import io.restassured.filter.OrderedFilter;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+/**
+ * Measures the HTTP exchange of a RestAssured request. Runs after every other filter so that cURL logging and
+ * Allure attachments are not part of the measurement.
+ * <p>
+ * RestAssured does not expose the connection events of the underlying Apache client, so only
+ * {@link Phase#TOTAL} is recorded.
+ */
+public class TimingFilter implements OrderedFilter {
+
+    private final TimingRecorder recorder;
+
+    public TimingFilter(TimingRecorder recorder) {
+        this.recorder = recorder;
+    }
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec,
+                           FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        recorder.start(Phase.TOTAL);
+        try {
+            return ctx.next(requestSpec, responseSpec);
+        } finally {
+            recorder.end(Phase.TOTAL);
+        }
+    }
+
+    @Override
+    public int getOrder() {
+        return LOWEST_PRECEDENCE;
+    }
+}
@@ -0,0 +1,37 @@
+package in.zeta.qa.utils.rest.stub;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Response delay distribution of a {@link StubRoute}.
+ */
+@FunctionalInterface
+public interface Latency {
+
+    Latency NONE = () -> 0;
+
+    /** @return the delay of the next response in nanoseconds */
+    long nextNanos();
+
+    static Latency fixed(Duration delay) {
+        long nanos = delay.toNanos();
+        return () -> nanos;
+    }
+
+    static Latency uniform(Duration min, Duration max) {
+        long minNanos = min.toNanos();
+        long maxNanos = max.toNanos();
+        return () -> ThreadLocalRandom.current().nextLong(minNanos, maxNanos + 1);
+    }
+
+    /**
+     * Log-normal delays, the long-tailed shape real services show: half of the responses are faster than
+     * {@code median}, one in a hundred slower than {@code p99}.
+     */
+    static Latency logNormal(Duration median, Duration p99) {
+        double mu = Math.log(median.toNanos());
+        double sigma = (Math.log(p99.toNanos()) - mu) / 2.326;   // z-score of the 99th percentile
+        return () -> (long) Math.exp(mu + sigma * ThreadLocalRandom.current().nextGaussian());
+    }
+}
@@ -0,0 +1,176 @@
+package in.zeta.qa.utils.rest.stub;
+
+import in.zeta.qa.constants.endpoints.ApiEndpoint;
+import in.zeta.qa.utils.rest.HttpCompression;
+import in.zeta.qa.utils.rest.HttpMethod;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+/**
+ * Behaviour of one {@code method + ApiEndpoint} on a {@link StubServer}: the canned response, its latency and the
+ * faults to inject. Setters can be called while the server is serving, e.g. to start failing half-way through a
+ * run; every response reads the current settings.
+ */
+public class StubRoute {
+
+    private final HttpMethod method;
+    private final ApiEndpoint endpoint;
+    private final Pattern path;
+
+    private volatile int status = 200;
+    private volatile byte[] body = new byte[0];
+    /** gzipped {@link #body}, {@code null} unless {@link #gzip()} was called */
+    private volatile byte[] gzippedBody;
+    private final Map<String, String> headers = new ConcurrentHashMap<>();
+    private volatile Latency latency = Latency.NONE;
+    private volatile double errorRate;
+    private volatile int errorStatus = 500;
+    private volatile double dropRate;
+
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong injectedErrors = new AtomicLong();
+    private final AtomicLong droppedConnections = new AtomicLong();
+
+    StubRoute(HttpMethod method, ApiEndpoint endpoint) {
+        this.method = method;
+        this.endpoint = endpoint;
+        this.path = compile(endpoint.getPath());
+    }
+
+    public StubRoute status(int status) {
+        this.status = status;
+        return this;
+    }
+
+    public StubRoute body(String body) {
+        this.body = body.getBytes(StandardCharsets.UTF_8);
+        if (gzippedBody != null) gzippedBody = HttpCompression.gzip(this.body);
+        return this;
+    }
+
+    /**
+     * Sends the body gzipped ({@code Content-Encoding: gzip}) to clients accepting it.
+     */
+    public StubRoute gzip() {
+        this.gzippedBody = HttpCompression.gzip(body);
+        return this;
+    }
+
+    public StubRoute json(String json) {
+        headers.put("Content-Type", "application/json");
+        return body(json);
+    }
+
+    public StubRoute header(String name, String value) {
+        headers.put(name, value);
+        return this;
+    }
+
+    public StubRoute latency(Latency latency) {
+        this.latency = latency;
+        return this;
+    }
+
+    /**
+     * Answers the given share of requests (0..1) with {@code status} instead of the configured response.
+     */
+    public StubRoute errors(double rate, int status) {
+        this.errorRate = rate;
+        this.errorStatus = status;
+        return this;
+    }
+
+    /**
+     * Closes the connection without any response for the given share of requests (0..1).
+     */
+    public StubRoute dropConnections(double rate) {
+        this.dropRate = rate;
+        return this;
+    }
+
+    public ApiEndpoint getEndpoint() {
+        return endpoint;
+    }
+
+    public HttpMethod getMethod() {
+        return method;
+    }
+
+    public long getRequests() {
+        return requests.get();
+    }
+
+    public long getInjectedErrors() {
+        return injectedErrors.get();
+    }
+
+    public long getDroppedConnections() {
+        return droppedConnections.get();
+    }
+
+    void resetCounters() {
+        requests.set(0);
+        injectedErrors.set(0);
+        droppedConnections.set(0);
+    }
+
+    boolean matches(String requestMethod, String requestPath) {
+        return method.name().equals(requestMethod) && path.matcher(requestPath).matches();
+    }
+
+    /**
+     * @return what to answer to the next request; counted as it is drawn
+     */
+    Outcome next(boolean acceptsGzip) {
+        requests.incrementAndGet();
+        double draw = ThreadLocalRandom.current().nextDouble();
+        if (draw < dropRate) {
+            droppedConnections.incrementAndGet();
+            return new Outcome(latency.nextNanos(), -1, null, Map.of());
+        }
+        if (draw < dropRate + errorRate) {
+            injectedErrors.incrementAndGet();
+            return new Outcome(latency.nextNanos(), errorStatus, new byte[0], Map.of());
+        }
+        byte[] gzipped = gzippedBody;
+        if (acceptsGzip && gzipped != null && body.length > 0) {
+            Map<String, String> gzipHeaders = new HashMap<>(headers);
+            gzipHeaders.put("Content-Encoding", HttpCompression.GZIP);
+            return new Outcome(latency.nextNanos(), status, gzipped, gzipHeaders);
+        }
+        return new Outcome(latency.nextNanos(), status, body, headers);
+    }
+
+    /** {@code status == -1} means the connection is dropped. */
+    record Outcome(long delayNanos, int status, byte[] body, Map<String, String> headers) {
+    }
+
+    /**
+     * Path part of the endpoint template as a regex: placeholders match anything, {@code /} included, since nested
+     * paths are passed as a single path param.
+     */
+    private static Pattern compile(String template) {
+        int queryStart = template.indexOf('?');
+        String pathTemplate = queryStart < 0 ? template : template.substring(0, queryStart);
+        StringBuilder regex = new StringBuilder();
+        int position = 0;
+        while (position < pathTemplate.length()) {
+            int open = pathTemplate.indexOf('{', position);
+            int close = open < 0 ? -1 : pathTemplate.indexOf('}', open);
+            if (close < 0) {
+                regex.append(Pattern.quote(pathTemplate.substring(position)));
+                break;
+            }
+            if (open > position) regex.append(Pattern.quote(pathTemplate.substring(position, open)));
+            regex.append(".+?");
+            position = close + 1;
+        }
+        return Pattern.compile(regex + "/*");
+    }
+}
@@ -0,0 +1,138 @@
+package in.zeta.qa.utils.rest.stub;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import in.zeta.qa.constants.endpoints.ApiEndpoint;
+import in.zeta.qa.utils.rest.HttpCompression;
+import in.zeta.qa.utils.rest.HttpExecutors;
+import in.zeta.qa.utils.rest.HttpMethod;
+import in.zeta.qa.utils.rest.metrics.HttpMetrics;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * In-process HTTP server answering the routes declared against {@link ApiEndpoint}s, so that every
+ * {@code ClientType} and the pipeline can be exercised and benchmarked without a network or a shared environment.
+ * <pre>{@code
+ * try (StubServer stub = StubServer.start()) {
+ *     stub.on(HttpMethod.GET, Endpoints.FIND_BY_STATUS).json("[]")
+ *             .latency(Latency.logNormal(Duration.ofMillis(5), Duration.ofMillis(50)))
+ *             .errors(0.01, 503);
+ *     ApiRequest.builder().serverURL(stub.getUrl()).endpoint(Endpoints.FIND_BY_STATUS)...
+ * }
+ * }</pre>
+ * Binds to an ephemeral port on the loopback interface and is ready when {@link #start()} returns. Requests are
+ * served on a growing pool of daemon threads, so simulated latency never queues other requests. Unknown routes
+ * answer {@code 404}; the request body is read and discarded.
+ */
+@Slf4j
+public class StubServer implements AutoCloseable {
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final List<StubRoute> routes = new CopyOnWriteArrayList<>();
+    private volatile long countingSince = System.nanoTime();
+
+    private StubServer(HttpServer server, ExecutorService executor) {
+        this.server = server;
+        this.executor = executor;
+    }
+
+    public static StubServer start() {
+        try {
+            HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 1024);
+            ExecutorService executor = Executors.newCachedThreadPool(HttpExecutors.daemonThreadFactory("stub-server"));
+            StubServer stub = new StubServer(server, executor);
+            server.createContext("/", stub::handle);
+            server.setExecutor(executor);
+            server.start();
+            log.info("Stub server listening on {}", stub.getUrl());
+            return stub;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to start stub server", e);
+        }
+    }
+
+    /**
+     * Declares a route; routes are matched in declaration order. By default it answers {@code 200} with an empty body.
+     */
+    public StubRoute on(HttpMethod method, ApiEndpoint endpoint) {
+        StubRoute route = new StubRoute(method, endpoint);
+        routes.add(route);
+        return route;
+    }
+
+    public String getUrl() {
+        return "http://localhost:" + server.getAddress().getPort();
+    }
+
+    public List<StubRoute> getRoutes() {
+        return List.copyOf(routes);
+    }
+
+    /**
+     * @return requests per second served by each route (keyed like {@link HttpMetrics}) since start or the last
+     * {@link #resetCounters()}
+     */
+    public Map<String, Double> throughput() {
+        double seconds = Math.max(1e-9, (System.nanoTime() - countingSince) / 1e9);
+        return routes.stream().collect(Collectors.toMap(
+                route -> route.getMethod() + " " + HttpMetrics.keyOf(route.getEndpoint()),
+                route -> route.getRequests() / seconds, Double::sum));
+    }
+
+    public void resetCounters() {
+        routes.forEach(StubRoute::resetCounters);
+        countingSince = System.nanoTime();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        // HttpExchange is only AutoCloseable from Java 18 on
+        try (InputStream in = exchange.getRequestBody()) {
+            in.transferTo(OutputStream.nullOutputStream());
+            String path = exchange.getRequestURI().getRawPath();
+            StubRoute route = routes.stream()
+                    .filter(r -> r.matches(exchange.getRequestMethod(), path))
+                    .findFirst().orElse(null);
+            if (route == null) {
+                exchange.sendResponseHeaders(404, -1);
+                return;
+            }
+            String acceptEncoding = exchange.getRequestHeaders().getFirst("Accept-Encoding");
+            StubRoute.Outcome outcome = route.next(acceptEncoding != null && acceptEncoding.contains(HttpCompression.GZIP));
+            if (outcome.delayNanos() > 0) TimeUnit.NANOSECONDS.sleep(outcome.delayNanos());
+            if (outcome.status() < 0) return;   // closing the exchange without headers drops the connection
+
+            outcome.headers().forEach((name, value) -> exchange.getResponseHeaders().set(name, value));
+            byte[] body = outcome.body();
+            exchange.sendResponseHeaders(outcome.status(), body.length == 0 ? -1 : body.length);
+            if (body.length > 0) {
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(body);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            exchange.close();
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package in.zeta.qa.utils.testListeners;
+
+import in.zeta.qa.utils.rest.AllureAttachmentWriter;
+import org.testng.IInvokedMethod;
+import org.testng.IInvokedMethodListener;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.ITestResult;
+
+/**
+ * Makes sure the attachments queued on the {@link AllureAttachmentWriter} are on disk before Allure writes the
+ * result they belong to: TestNG calls {@code afterInvocation} on the test thread before any {@code onTestSuccess} /
+ * {@code onTestFailure}. Whatever other threads still have queued is flushed when the suite finishes.
+ */
+public class AllureAttachmentListener implements IInvokedMethodListener, ISuiteListener {
+
+    @Override
+    public void afterInvocation(IInvokedMethod method, ITestResult testResult) {
+        AllureAttachmentWriter.flush();
+    }
+
+    @Override
+    public void onFinish(ISuite suite) {
+        AllureAttachmentWriter.flushAll();
+    }
+}
@@ -0,0 +1,34 @@
+package in.zeta.qa.utils.testListeners;
+
+import in.zeta.qa.utils.rest.cassette.CassetteMode;
+import in.zeta.qa.utils.rest.cassette.Cassettes;
+import org.testng.IInvokedMethod;
+import org.testng.IInvokedMethodListener;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.ITestNGMethod;
+import org.testng.ITestResult;
+
+/**
+ * Inserts one cassette per test (and configuration) method, named {@code <test class>/<method>}, while
+ * {@code http.cassette.mode} is {@code record} or {@code replay}.
+ */
+public class CassetteListener implements IInvokedMethodListener, ISuiteListener {
+
+    @Override
+    public void beforeInvocation(IInvokedMethod method, ITestResult testResult) {
+        if (Cassettes.mode() == CassetteMode.OFF) return;
+        ITestNGMethod testMethod = method.getTestMethod();
+        Cassettes.insert(testMethod.getRealClass().getName() + "/" + testMethod.getMethodName());
+    }
+
+    @Override
+    public void afterInvocation(IInvokedMethod method, ITestResult testResult) {
+        Cassettes.eject();
+    }
+
+    @Override
+    public void onFinish(ISuite suite) {
+        Cassettes.saveAll();
+    }
+}
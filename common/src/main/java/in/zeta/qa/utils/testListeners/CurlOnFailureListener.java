@@ -0,0 +1,44 @@
+package in.zeta.qa.utils.testListeners;
+
+import in.zeta.qa.utils.rest.rest_assured.CurlLoggingFilter;
+import in.zeta.qa.utils.rest.rest_assured.CurlRingBuffer;
+import io.qameta.allure.Allure;
+import lombok.extern.slf4j.Slf4j;
+import org.testng.IInvokedMethod;
+import org.testng.IInvokedMethodListener;
+import org.testng.ITestResult;
+
+/**
+ * Attaches the cURL commands of the requests a failed test sent (captured by {@link CurlLoggingFilter} in
+ * {@code http.curl.mode=onFailure}) to its Allure result. Buffers are cleared before each test, so only the failed
+ * test's own requests are rendered.
+ * <p>
+ * Works in {@code afterInvocation}: TestNG has set the result status by then but calls no {@code onTestFailure}
+ * yet, so the attachment lands before Allure writes the result whatever the listener order.
+ */
+@Slf4j
+public class CurlOnFailureListener implements IInvokedMethodListener {
+
+    @Override
+    public void beforeInvocation(IInvokedMethod method, ITestResult testResult) {
+        if (method.isTestMethod()) CurlRingBuffer.clear();
+    }
+
+    @Override
+    public void afterInvocation(IInvokedMethod method, ITestResult testResult) {
+        if (!method.isTestMethod()) return;
+        if (testResult.getStatus() != ITestResult.FAILURE) {
+            CurlRingBuffer.clear();
+            return;
+        }
+        try {
+            String curl = CurlRingBuffer.drainRendered();
+            if (curl == null) return;
+            log.info("Requests of failed test {}:\n{}", testResult.getName(), curl);
+            Allure.addAttachment("cURL of last requests", "text/plain", curl, ".txt");
+        } catch (Exception e) {
+            // reporting must never hide the actual failure
+            log.warn("Unable to attach cURL of failed test: {}", e.getMessage(), e);
+        }
+    }
+}
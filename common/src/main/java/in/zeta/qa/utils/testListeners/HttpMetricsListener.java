@@ -0,0 +1,85 @@
+package in.zeta.qa.utils.testListeners;
+
+import in.zeta.qa.utils.fileUtils.PropertyFileReader;
+import in.zeta.qa.utils.misc.ObjectMapperRegistry;
+import in.zeta.qa.utils.misc.ObjectMapperRegistry.Profile;
+import in.zeta.qa.utils.rest.metrics.HttpMetrics;
+import io.qameta.allure.Allure;
+import io.qameta.allure.AllureLifecycle;
+import io.qameta.allure.model.FixtureResult;
+import io.qameta.allure.model.Status;
+import io.qameta.allure.model.TestResultContainer;
+import lombok.extern.slf4j.Slf4j;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.ISuiteResult;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Dumps the per-endpoint HTTP latency summary collected by {@link HttpMetrics} to {@code http.metrics.file}
+ * (default {@code target/http-metrics.json}) when a suite finishes. When the suite ran with Allure, the summary is
+ * also attached to a suite-level tear-down fixture, so it shows up under the tests' "Tear down" without adding a
+ * result of its own. Not registered automatically, add it with {@code @Listeners} or in testng.xml.
+ */
+@Slf4j
+public class HttpMetricsListener implements ISuiteListener {
+
+    /** Attribute under which allure-testng keeps the uuid of the Allure container of a suite or {@code <test>}. */
+    private static final String ALLURE_UUID = "ALLURE_UUID";
+
+    @Override
+    public void onFinish(ISuite suite) {
+        Map<String, Object> summary = HttpMetrics.summary();
+        if (summary.isEmpty()) return;
+        try {
+            byte[] json = ObjectMapperRegistry.prettyWriter(Profile.DEFAULT).writeValueAsBytes(summary);
+            Path file = Paths.get(PropertyFileReader.getSetting("http.metrics.file",
+                    "target/http-metrics.json"));
+            if (file.getParent() != null) Files.createDirectories(file.getParent());
+            Files.write(file, json);
+            log.info("HTTP latency summary for suite {} written to {}", suite.getName(), file.toAbsolutePath());
+            attachToAllure(suite, json);
+        } catch (Exception e) {
+            // reporting must never fail the suite
+            log.warn("Unable to write HTTP latency summary: {}", e.getMessage(), e);
+        }
+    }
+
+    private static void attachToAllure(ISuite suite, byte[] json) {
+        List<String> testContainers = allureContainersOf(suite);
+        if (testContainers.isEmpty()) return;   // suite not reported to Allure
+        AllureLifecycle lifecycle = Allure.getLifecycle();
+        String containerUuid = UUID.randomUUID().toString();
+        String fixtureUuid = UUID.randomUUID().toString();
+        lifecycle.startTestContainer(new TestResultContainer()
+                .setUuid(containerUuid)
+                .setName(suite.getName())
+                .setChildren(testContainers));
+        lifecycle.startTearDownFixture(containerUuid, fixtureUuid, new FixtureResult().setName("HTTP latency summary"));
+        lifecycle.addAttachment("http-metrics.json", "application/json", ".json", json);
+        lifecycle.updateFixture(fixtureUuid, fixture -> fixture.setStatus(Status.PASSED));
+        lifecycle.stopFixture(fixtureUuid);
+        lifecycle.stopTestContainer(containerUuid);
+        lifecycle.writeTestContainer(containerUuid);
+    }
+
+    /**
+     * @return the uuids of the Allure containers allure-testng opened for the suite's {@code <test>}s, which hold
+     * their test results
+     */
+    private static List<String> allureContainersOf(ISuite suite) {
+        return suite.getResults().values().stream()
+                .map(ISuiteResult::getTestContext)
+                .map(context -> context.getAttribute(ALLURE_UUID))
+                .filter(Objects::nonNull)
+                .map(Object::toString)
+                .toList();
+    }
+}
@@ -1,5 +1,7 @@
 package in.zeta.qa.service.kibana;
 
+import in.zeta.qa.constants.anotation.Coalesce;
+import in.zeta.qa.constants.anotation.Hedge;
 import in.zeta.qa.constants.endpoints.ApiEndpoint;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
@@ -8,6 +10,9 @@ import lombok.Getter;
 @Getter
 public enum KibanaEndpoint implements ApiEndpoint {
 
+    // POST based query API, identical concurrent searches can share a call and slow ones are hedged
+    @Coalesce(includeBody = true)
+    @Hedge(idempotent = true)
     SEARCH("/_dashboards/internal/search/opensearch"),
     SHORT_URL("/_dashboards/api/shorten_url");
 
@@ -36,7 +36,7 @@ public class KibanaService implements FilePath {
         ApiResponse response = kibanaClient.shortUrl(longUrlPath);
         String server = PropertyFileReader.getPropertyValue("kibana.server.url");
         if (response.getStatusCode() == HttpStatus.SC_OK) {
-            JsonNode jsonNode = jsonHelper.convertToJsonNode(response.getBody());
+            JsonNode jsonNode = jsonHelper.convertToJsonNode(response);
             String uuid = jsonNode.get("urlId").textValue();
             return server + "/_dashboards/goto/" + uuid + "?security_tenant=global";
         }
@@ -167,7 +167,7 @@ public class KibanaService implements FilePath {
                                                                 Map<String, String> matchPhraseMap) {
         String payload = constructPayloadUsingMatchPhrase(fromEpochTime, toEpochTime, matchPhraseMap);
         ApiResponse response = kibanaClient.openSearch(payload);
-        KibanaResponse kibanaResponse = jsonHelper.getObjectFromString(response.getBody(), KibanaResponse.class);
+        KibanaResponse kibanaResponse = jsonHelper.getObjectFromResponse(response, KibanaResponse.class);
         Predicate<KibanaResponse.HitItem> predicate = getMatchingRrnPredicate(rrn);
         return getLogMessages(kibanaResponse).stream().filter(predicate).collect(Collectors.toList());
     }
@@ -179,7 +179,7 @@ public class KibanaService implements FilePath {
                                                                         String title, Map<String, String> matchPhraseMap) {
         String payload = constructPayloadUsingMatchPhrase(fromEpochTime, toEpochTime, matchPhraseMap);
         ApiResponse response = kibanaClient.openSearch(payload);
-        KibanaResponse kibanaResponse = jsonHelper.getObjectFromString(response.getBody(), KibanaResponse.class);
+        KibanaResponse kibanaResponse = jsonHelper.getObjectFromResponse(response, KibanaResponse.class);
         Predicate<KibanaResponse.HitItem> predicate = getMatchingRrnAndTitlePredicate(rrn, title);
         return getLogMessages(kibanaResponse).stream().filter(predicate).collect(Collectors.toList());
     }
@@ -190,7 +190,7 @@ public class KibanaService implements FilePath {
     public List<KibanaResponse.HitItem> searchLogsWithMatchPhrase(long fromEpochTime, long toEpochTime, Map<String, String> matchPhraseMap) {
         String payload = constructPayloadUsingMatchPhrase(fromEpochTime, toEpochTime, matchPhraseMap);
         ApiResponse response = kibanaClient.openSearch(payload);
-        KibanaResponse kibanaResponse = jsonHelper.getObjectFromString(response.getBody(), KibanaResponse.class);
+        KibanaResponse kibanaResponse = jsonHelper.getObjectFromResponse(response, KibanaResponse.class);
         return getLogMessages(kibanaResponse);
     }
 
@@ -201,7 +201,7 @@ public class KibanaService implements FilePath {
                                                                                        String matchStr, Map<String, String> matchPhraseMap) {
         String payload = constructPayloadUsingMatchPhrase(fromEpochTime, toEpochTime, matchPhraseMap);
         ApiResponse response = kibanaClient.openSearchWithRetryUntilMatchedStrFound(payload, matchStr);
-        KibanaResponse kibanaResponse = jsonHelper.getObjectFromString(response.getBody(), KibanaResponse.class);
+        KibanaResponse kibanaResponse = jsonHelper.getObjectFromResponse(response, KibanaResponse.class);
         return getLogMessages(kibanaResponse);
     }
 }